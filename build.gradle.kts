@@ -1,5 +1,7 @@
 plugins {
     id("java")
+    id("java-test-fixtures")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.github.nggalien.adventofcode23"
@@ -12,6 +14,8 @@ repositories {
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    //Input generators of src/testFixtures, shared by the tests and the benchmarks
+    jmh(testFixtures(project))
 }
 
 java {
@@ -19,17 +23,23 @@ java {
         languageVersion = JavaLanguageVersion.of(21)
     }
 }
-//Configure the compiler to use UTF-8 and enable preview features
+//Configure the compiler to use UTF-8, enable preview features and the incubating Vector API
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
-    options.compilerArgs.addAll(listOf("--enable-preview", "-Xlint:preview"))
+    options.compilerArgs.addAll(listOf("--enable-preview", "-Xlint:preview", "--add-modules", "jdk.incubator.vector"))
 }
-//Run tests with --enable-preview
+//Run tests with --enable-preview and the Vector API
 tasks.withType<Test> {
     useJUnitPlatform()
-    jvmArgs("--enable-preview")
+    jvmArgs("--enable-preview", "--add-modules", "jdk.incubator.vector")
 }
-//Run the application with --enable-preview
+//Run the application with --enable-preview and the Vector API
 tasks.withType<JavaExec> {
-    jvmArgs("--enable-preview")
+    jvmArgs("--enable-preview", "--add-modules", "jdk.incubator.vector")
+}
+//Run the benchmarks of src/jmh with --enable-preview and the Vector API, and report allocations with the GC profiler
+jmh {
+    jvmArgsAppend = listOf("--enable-preview", "--add-modules", "jdk.incubator.vector")
+    profilers = listOf("gc")
+    resultFormat = "JSON"
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.github.nggalien.advent;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Builds benchmark inputs from the puzzle inputs, scaled by repeating their independent parts.
+ */
+interface BenchmarkInputs {
+
+    /**
+     * Repeats every line of the input, for inputs where lines are independent.
+     */
+    static String repeatLines(String input, int scale) {
+        return withTrailingNewLine(input).repeat(scale);
+    }
+
+    /**
+     * Repeats the blocks of the input separated by a blank line.
+     */
+    static String repeatBlocks(String input, int scale) {
+        return IntStream.range(0, scale)
+                .mapToObj(_ -> input.strip())
+                .collect(Collectors.joining("\n\n", "", "\n"));
+    }
+
+    /**
+     * Repeats the cards of a Day 4 input, numbering them again so that copies land on the next cards.
+     */
+    static String repeatCards(String input, int scale) {
+        var cards = input.lines()
+                .map(line -> line.substring(line.indexOf(':')))
+                .toList();
+        var builder = new StringBuilder();
+        int number = 1;
+        for (int i = 0; i < scale; i++) {
+            for (String card : cards) {
+                builder.append("Card ").append(number++).append(card).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Repeats the numbers of the seeds line of a Day 5 almanac, keeping its maps.
+     */
+    static String repeatSeeds(String input, int scale) {
+        int endOfSeeds = input.indexOf('\n');
+        String seeds = input.substring(input.indexOf(':') + 1, endOfSeeds).strip();
+        return STR."seeds: \{(seeds + " ").repeat(scale).strip()}\{input.substring(endOfSeeds)}";
+    }
+
+    private static String withTrailingNewLine(String input) {
+        return input.endsWith("\n") ? input : input + "\n";
+    }
+}
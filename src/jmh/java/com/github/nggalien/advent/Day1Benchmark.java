@@ -0,0 +1,57 @@
+package com.github.nggalien.advent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
+
+/**
+ * Benchmarks of the Day 1 calibration paths, on the puzzle scaled up to 1000 times.<br>
+ * With the {@code gc} profiler, {@code gc.alloc.rate.norm} of {@link #bytes()} should stay at 0 bytes per operation,
+ * whatever the scale, while the one of {@link #text()} grows with the number of lines.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class Day1Benchmark {
+
+    static final Day1 DAY1 = new Day1() {};
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    String text;
+    PuzzleInput input;
+
+    @Setup
+    public void setup() {
+        text = BenchmarkInputs.repeatLines(readFileOfResource("day1.txt"), scale);
+        input = new PuzzleInput(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Benchmark
+    public int text() {
+        return DAY1.sumOfAllCalibrationValues(text);
+    }
+
+    @Benchmark
+    public long bytes() {
+        return DAY1.sumOfAllCalibrationValues(input);
+    }
+}
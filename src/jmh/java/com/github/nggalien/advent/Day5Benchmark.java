@@ -0,0 +1,66 @@
+package com.github.nggalien.advent;
+
+import com.github.nggalien.advent.generator.InputGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Day 5 minimum location, sequential and shared out by seed span on the common pool,
+ * from the ten seed ranges of a puzzle to a hundred thousand, against a compiled generated almanac.<br>
+ * The parallel search should not lose to the sequential one on ten ranges, as they are cut in
+ * {@link SeedRangeTask#LEAVES_PER_THREAD} leaves per thread whatever their number.
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=Day5Benchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class Day5Benchmark {
+
+    static final long SEED = 2023;
+
+    @Param({"10", "1000", "100000"})
+    int seedRanges;
+
+    /**
+     * Number of ranges of each map of the almanac.
+     */
+    @Param({"30", "1000"})
+    int ranges;
+
+    Day5.Almanac almanac;
+    List<Day5.Interval> seeds;
+
+    @Setup
+    public void setup() {
+        String input = InputGenerator.day5(SEED, seedRanges, ranges);
+        almanac = Day5.Almanac.parse(input);
+        seeds = Day5.lineToIntervalsProvider.apply(input.lines().findFirst().orElseThrow()).toList();
+    }
+
+    @Benchmark
+    public long minLocation() {
+        return almanac.minLocation(seeds);
+    }
+
+    @Benchmark
+    public long minLocationInParallel() {
+        return almanac.minLocationInParallel(seeds);
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.nggalien.advent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
+
+/**
+ * Benchmarks of the {@link DayUtils} parsers, on puzzle lines scaled up to 1000 times.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class DayUtilsBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    /**
+     * A Day 9 line repeated {@code scale} times.
+     */
+    String numbers;
+
+    /**
+     * The ASCII bytes of {@link #numbers}.
+     */
+    MemorySegment numberBytes;
+
+    /**
+     * A Day 13 pattern repeated {@code scale} times vertically.
+     */
+    String pattern;
+
+    /**
+     * The lines of the Day 13 pattern.
+     */
+    List<String> patternLines;
+
+    @Setup
+    public void setup() {
+        String line = readFileOfResource("day9.txt").lines().findFirst().orElseThrow();
+        numbers = (line + " ").repeat(scale);
+        numberBytes = MemorySegment.ofArray(numbers.getBytes(StandardCharsets.US_ASCII));
+        String firstPattern = readFileOfResource("day13.txt").split("\n\n")[0];
+        pattern = BenchmarkInputs.repeatLines(firstPattern, scale);
+        patternLines = DayUtils.linesOfInput(pattern);
+    }
+
+    @Benchmark
+    public long[] parseLongArray() {
+        return DayUtils.parseLongArray(numbers);
+    }
+
+    @Benchmark
+    public long[] parseLongArrayOfBytes() {
+        return DayUtils.parseLongArray(numberBytes, 0, (int) numberBytes.byteSize());
+    }
+
+    @Benchmark
+    public List<String> columnsOfInput() {
+        return DayUtils.columnsOfInput(pattern);
+    }
+
+    @Benchmark
+    public long convertBinary() {
+        long result = 0;
+        for (String line : patternLines) {
+            result ^= DayUtils.convertBinary(line, c -> c == '#');
+        }
+        return result;
+    }
+}
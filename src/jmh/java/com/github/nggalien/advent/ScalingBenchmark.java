@@ -0,0 +1,80 @@
+package com.github.nggalien.advent;
+
+import com.github.nggalien.advent.generator.InputGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmarks of the grid, network and race solvers on generated inputs growing from the size of the puzzle.<br>
+ * Inputs come from {@link InputGenerator} with a fixed seed, so runs stay comparable over time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class ScalingBenchmark {
+
+    static final long SEED = 2023;
+
+    /**
+     * Width and height of the grids, and number of nodes of each ghost path.
+     * The Day 6 races last up to ten times its square, as every hold time of a race is tried.
+     */
+    @Param({"140", "280", "560", "1120"})
+    int size;
+
+    String schematic;
+    String network;
+    String field;
+    String image;
+    String races;
+
+    @Setup
+    public void setup() {
+        schematic = InputGenerator.day3(SEED, size, size);
+        network = InputGenerator.day8(SEED, 300, 6, size);
+        field = InputGenerator.day10(SEED, size, size);
+        image = InputGenerator.day11(SEED, size, size, 0.02);
+        races = InputGenerator.day6(SEED, 2, 10 * size * size);
+    }
+
+    @Benchmark
+    public long day3Motor() {
+        var motor = Day3.Motor.of(schematic);
+        return motor.sumOfAllPartNumbers() + motor.sumOfAllGearRatios();
+    }
+
+    @Benchmark
+    public long day6Races() {
+        return Day6.numbersOfWins(races, Function.identity());
+    }
+
+    @Benchmark
+    public long day8Network() {
+        return Day8.solves(network, s -> s.endsWith("A"), s -> s.endsWith("Z"));
+    }
+
+    @Benchmark
+    public long day10FindPaths() {
+        return Day10.findPaths(field).filter(Day10.PathVisitor::closed).count();
+    }
+
+    @Benchmark
+    public long day11Galaxies() {
+        return Day11.solvesDay(image, 1000000);
+    }
+}
@@ -0,0 +1,265 @@
+package com.github.nggalien.advent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
+
+/**
+ * One benchmark per solution part, run on the puzzle input scaled up to 1000 times.<br>
+ * Inputs are built once per trial, so only the parsing and the solving are measured.
+ * Days whose input cannot be repeated without changing the puzzle are only run on the real input.
+ * Day 12 is not solved yet, its parts returning constants, so it has no benchmark.
+ * <pre>
+ *     ./gradlew jmh -Pjmh.includes=SolutionBenchmark.day3 -Pjmh.params=scale=1,10
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SolutionBenchmark {
+
+    static final Day1 DAY1 = new Day1() {};
+    static final Day2 DAY2 = new Day2() {};
+    static final String DAY2_HAND = "12 red, 13 green, 14 blue";
+
+    @State(Scope.Benchmark)
+    public static class Day1Input {
+        @Param({"1", "10", "100", "1000"})
+        int scale;
+        String input;
+
+        @Setup
+        public void setup() {
+            input = BenchmarkInputs.repeatLines(readFileOfResource("day1.txt"), scale);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Day2Input {
+        @Param({"1", "10", "100", "1000"})
+        int scale;
+        String input;
+
+        @Setup
+        public void setup() {
+            input = BenchmarkInputs.repeatLines(readFileOfResource("day2.txt"), scale);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Day3Input {
+        @Param({"1", "10", "100", "1000"})
+        int scale;
+        String input;
+
+        @Setup
+        public void setup() {
+            input = BenchmarkInputs.repeatLines(readFileOfResource("day3.txt"), scale);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Day4Input {
+        @Param({"1", "10", "100", "1000"})
+        int scale;
+        String input;
+
+        @Setup
+        public void setup() {
+            input = BenchmarkInputs.repeatCards(readFileOfResource("day4.txt"), scale);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Day5Input {
+        @Param({"1", "10", "100", "1000"})
+        int scale;
+        String input;
+
+        @Setup
+        public void setup() {
+            input = BenchmarkInputs.repeatSeeds(readFileOfResource("day5.txt"), scale);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Day7Input {
+        @Param({"1", "10", "100", "1000"})
+        int scale;
+        String input;
+
+        @Setup
+        public void setup() {
+            input = BenchmarkInputs.repeatLines(readFileOfResource("day7.txt"), scale);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Day9Input {
+        @Param({"1", "10", "100", "1000"})
+        int scale;
+        String input;
+
+        @Setup
+        public void setup() {
+            input = BenchmarkInputs.repeatLines(readFileOfResource("day9.txt"), scale);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Day13Input {
+        @Param({"1", "10", "100", "1000"})
+        int scale;
+        String input;
+
+        @Setup
+        public void setup() {
+            input = BenchmarkInputs.repeatBlocks(readFileOfResource("day13.txt"), scale);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PuzzleInputs {
+        String day6;
+        String day8;
+        String day10;
+        String day11;
+
+        @Setup
+        public void setup() {
+            day6 = readFileOfResource("day6.txt");
+            day8 = readFileOfResource("day8.txt");
+            day10 = readFileOfResource("day10.txt");
+            day11 = readFileOfResource("day11.txt");
+        }
+    }
+
+    @Benchmark
+    public int day1(Day1Input state) {
+        return DAY1.sumOfAllCalibrationValues(state.input);
+    }
+
+    @Benchmark
+    public int day2Part1(Day2Input state) {
+        return DAY2.sumOfAllPlayableGamesNumber(DAY2_HAND, state.input);
+    }
+
+    @Benchmark
+    public long day2Part2(Day2Input state) {
+        return DAY2.powerOffAllGames(state.input);
+    }
+
+    @Benchmark
+    public long day3Part1(Day3Input state) {
+        return Day3.Motor.of(state.input).sumOfAllPartNumbers();
+    }
+
+    @Benchmark
+    public long day3Part2(Day3Input state) {
+        return Day3.Motor.of(state.input).sumOfAllGearRatios();
+    }
+
+    @Benchmark
+    public long day4Part1(Day4Input state) {
+        return Day4.parseGame(state.input).score();
+    }
+
+    @Benchmark
+    public long day4Part2(Day4Input state) {
+        return Day4.parseGame(state.input).copiesWin();
+    }
+
+    @Benchmark
+    public long day5Part1(Day5Input state) {
+        return Day5.findMinIntervals(state.input, Day5.lineToSingleIntervalProvider);
+    }
+
+    @Benchmark
+    public long day5Part2(Day5Input state) {
+        return Day5.findMinIntervals(state.input, Day5.lineToIntervalsProvider);
+    }
+
+    @Benchmark
+    public long day6Part1(PuzzleInputs state) {
+        return Day6.numbersOfWins(state.day6, s -> s);
+    }
+
+    @Benchmark
+    public long day6Part2(PuzzleInputs state) {
+        return Day6.numbersOfWins(state.day6, s -> s.replace(" ", ""));
+    }
+
+    @Benchmark
+    public long day7Part1(Day7Input state) {
+        return Day7.totalWiningPart(state.input, AdventOfCode2023.DayPart.ONE);
+    }
+
+    @Benchmark
+    public long day7Part2(Day7Input state) {
+        return Day7.totalWiningPart(state.input, AdventOfCode2023.DayPart.TWO);
+    }
+
+    @Benchmark
+    public long day8Part1(PuzzleInputs state) {
+        return Day8.solves(state.day8, s -> s.equals("AAA"), s -> s.equals("ZZZ"));
+    }
+
+    @Benchmark
+    public long day8Part2(PuzzleInputs state) {
+        return Day8.solves(state.day8, s -> s.endsWith("A"), s -> s.endsWith("Z"));
+    }
+
+    @Benchmark
+    public long day9Part1(Day9Input state) {
+        return Day9.solve(state.input, Day9::addLastNumber);
+    }
+
+    @Benchmark
+    public long day9Part2(Day9Input state) {
+        return Day9.solve(state.input, Day9::addFirstNumber);
+    }
+
+    @Benchmark
+    public long day10Part1(PuzzleInputs state) {
+        return Day10.solvePart1(state.day10);
+    }
+
+    @Benchmark
+    public long day10Part2(PuzzleInputs state) {
+        return Day10.solvePart2(state.day10);
+    }
+
+    @Benchmark
+    public long day11Part1(PuzzleInputs state) {
+        return Day11.solvesDay(state.day11, 2);
+    }
+
+    @Benchmark
+    public long day11Part2(PuzzleInputs state) {
+        return Day11.solvesDay(state.day11, 1000000);
+    }
+
+    @Benchmark
+    public long day13Part1(Day13Input state) {
+        return Day13.solvesDay1(state.input);
+    }
+
+    @Benchmark
+    public long day13Part2(Day13Input state) {
+        return Day13.solvesDay2(state.input);
+    }
+}
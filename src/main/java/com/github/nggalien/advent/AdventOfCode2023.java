@@ -1,7 +1,14 @@
 package com.github.nggalien.advent;
 
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.lang.StringTemplate.STR;
 
@@ -10,6 +17,16 @@ import static java.lang.StringTemplate.STR;
  */
 public class AdventOfCode2023 {
 
+    /**
+     * Results of the solutions already solved in this process.
+     */
+    private static final Map<SolutionOfDay<?>, CompletableFuture<Result<?>>> RESULTS = new ConcurrentHashMap<>();
+
+    /**
+     * Number of solver runs avoided by {@link #RESULTS}.
+     */
+    private static final LongAdder SAVED_RUNS = new LongAdder();
+
     public enum DayPart {
         ONE, TWO
     }
@@ -22,6 +39,9 @@ public class AdventOfCode2023 {
 
         DayPart part();
 
+        /**
+         * The answer accepted for the day, a recorded constant that must not run the solver.
+         */
         T rightAnswer();
 
         /**
@@ -30,8 +50,16 @@ public class AdventOfCode2023 {
          */
         T test();
 
+        /**
+         * Solve the challenge for the day once per process.
+         * @return the cached answer and right answer.
+         */
+        default Result<T> result() {
+            return resultOf(this);
+        }
+
         default String status() {
-            return test().equals(rightAnswer()) ? "\uD83D\uDE0E" : "\uD83D\uDE2D";
+            return result().isRight() ? "\uD83D\uDE0E" : "\uD83D\uDE2D";
         }
 
         /**
@@ -39,35 +67,158 @@ public class AdventOfCode2023 {
          */
         default String message() {
             return STR."""
-                    \uD83D\uDE80 Day \{day() } part \{part().name()}: answer is \{ test()} \{ status()}
+                    \uD83D\uDE80 Day \{day() } part \{part().name()}: answer is \{ result().answer()} \{ status()}
+                    """;
+        }
+    }
+
+    /**
+     * Answer and right answer of a solution.
+     * @param answer the answer returned by {@link SolutionOfDay#test()}
+     * @param rightAnswer the answer returned by {@link SolutionOfDay#rightAnswer()}
+     */
+    record Result<T>(T answer, T rightAnswer) {
+        boolean isRight() {
+            return answer.equals(rightAnswer);
+        }
+    }
+
+    /**
+     * Returns the result of the solution, solving it only the first time it is asked for.<br>
+     * Solutions are stateless records, so two instances of the same part share the same result.
+     * The solver runs outside the map, so solutions of different days can be solved concurrently,
+     * while a second caller of the same solution waits for the first one.
+     * Right answers are recorded constants, so only {@link SolutionOfDay#test()} runs the solver,
+     * and a run is counted as saved only when the cached result was actually returned.
+     * @param solution the solution to solve
+     * @return the result of the solution
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Result<T> resultOf(SolutionOfDay<T> solution) {
+        var pending = new CompletableFuture<Result<?>>();
+        var existing = RESULTS.putIfAbsent(solution, pending);
+        if (existing != null) {
+            var result = (Result<T>) existing.join();
+            SAVED_RUNS.increment();
+            return result;
+        }
+        try {
+            pending.complete(new Result<>(solution.test(), solution.rightAnswer()));
+        } catch (RuntimeException e) {
+            RESULTS.remove(solution, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        return (Result<T>) pending.join();
+    }
+
+    /**
+     * Returns the number of solver runs avoided by the result cache since the start of the process.
+     */
+    static long savedSolverRuns() {
+        return SAVED_RUNS.sum();
+    }
+
+    /**
+     * Measures of a single solution run.
+     * @param solution the solution that was run
+     * @param answer the answer of the solution
+     * @param wallTime the elapsed time of the run
+     * @param cpuTime the CPU time consumed by the thread running the solution
+     * @param allocatedBytes the bytes allocated by the thread running the solution
+     */
+    record Report<T>(SolutionOfDay<T> solution, T answer, Duration wallTime, Duration cpuTime, long allocatedBytes) {
+
+        String message() {
+            return STR."""
+                    \uD83D\uDE80 Day \{solution.day()} part \{solution.part().name()}: answer is \{answer} \{solution.status()} \
+                    (wall \{wallTime.toMillis()} ms, cpu \{cpuTime.toMillis()} ms, alloc \{allocatedBytes / 1024} KB)
                     """;
         }
     }
 
     /**
-     * Read a file from resources
+     * Runs the solution on the current thread, measuring wall time, CPU time and allocated bytes.<br>
+     * CPU time and allocations are read from the thread MXBean, so the solution must run on a platform thread.
+     * @param solution the solution to run
+     * @return the report of the run
+     */
+    static <T> Report<T> measure(SolutionOfDay<T> solution) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long startCpu = threads.getCurrentThreadCpuTime();
+        long startAllocated = threads.getCurrentThreadAllocatedBytes();
+        long startWall = System.nanoTime();
+        T answer = solution.result().answer();
+        long wall = System.nanoTime() - startWall;
+        long cpu = threads.getCurrentThreadCpuTime() - startCpu;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - startAllocated;
+        return new Report<>(solution, answer, Duration.ofNanos(wall), Duration.ofNanos(cpu), allocated);
+    }
+
+    /**
+     * Runs every solution on a fork-join pool and collects the reports in the order of the given list.
+     * @param solutions the solutions to run
+     * @return the reports, in the same order as the solutions
+     */
+    static List<Report<?>> runInParallel(List<SolutionOfDay<?>> solutions) {
+        try (var pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors())) {
+            List<ForkJoinTask<Report<?>>> tasks = solutions.stream()
+                    .map(solution -> pool.<Report<?>>submit(() -> measure(solution)))
+                    .toList();
+            return tasks.stream()
+                    .<Report<?>>map(ForkJoinTask::join)
+                    .toList();
+        }
+    }
+
+    /**
+     * All the solutions, in day order.
+     */
+    static List<SolutionOfDay<?>> solutions() {
+        return List.of(Day1.find(), Day2.findPart1(), Day2.findPart2(), Day3.findPart1(), Day3.findPart2(),
+                Day4.findPart1(), Day4.findPart2(), Day5.findPart1(), Day5.findPart2(),
+                Day6.findPart1(), Day6.findPart2(), Day7.findPart1(), Day7.findPart2(),
+                Day8.findPart1(), Day8.findPart2(), Day9.findPart1(), Day9.findPart2(),
+                Day10.findPart1(), Day10.findPart2(), Day11.findPart1(), Day11.findPart2(),
+                Day12.findPart1(), Day12.findPart2(), Day13.findPart1(), Day13.findPart2());
+    }
+
+    /**
+     * Read a file from resources, through the shared {@link InputCache}
      * @param resourceName the name of the file to read
      * @return the content of the file
+     * @see PuzzleInput#ofResource(String) to scan the content without copying it into a {@code String}
      */
     static String readFileOfResource(String resourceName) {
-        return Stream.of(AdventOfCode2023.class.getResourceAsStream("/"+resourceName)).filter(Objects::nonNull)
-                .map(inputStream -> new java.util.Scanner(inputStream).useDelimiter("\\A").next())
-                .findFirst()
-                .orElseThrow();
+        return InputCache.shared().text(resourceName);
+    }
+
+    /**
+     * Returns the bytes of a file of the resources, through the shared {@link InputCache}, without decoding them
+     * into a {@code String}, for the solvers scanning their input line by line.
+     * @param resourceName the name of the file to read
+     * @return the mapped or direct content of the file
+     */
+    static PuzzleInput inputOfResource(String resourceName) {
+        return InputCache.shared().input(resourceName);
     }
 
     /**
      * Main method to run the Advent of Code 2023
-     * @param args command line arguments
+     * @param args command line arguments, {@code --parallel} runs all the solutions concurrently
      */
     public static void main(String[] args) {
-        Stream.of(Day1.find(), Day2.findPart1(), Day2.findPart2(), Day3.findPart1(), Day3.findPart2(),
-                        Day4.findPart1(), Day4.findPart2(), Day5.findPart1(), Day5.findPart2(),
-                        Day6.findPart1(), Day6.findPart2(), Day7.findPart1(), Day7.findPart2(),
-                        Day8.findPart1(), Day8.findPart2(), Day9.findPart1(), Day9.findPart2(),
-                        Day10.findPart1(), Day10.findPart2(), Day11.findPart1(), Day11.findPart2(),
-                        Day12.findPart1(), Day12.findPart2(), Day13.findPart1(), Day13.findPart2())
-                .map(SolutionOfDay::message)
-                .forEach(System.out::print);
+        if (List.of(args).contains("--parallel")) {
+            long start = System.nanoTime();
+            runInParallel(solutions()).stream()
+                    .map(Report::message)
+                    .forEach(System.out::print);
+            System.out.println(STR."\u23F1 Total wall time: \{Duration.ofNanos(System.nanoTime() - start).toMillis()} ms");
+        } else {
+            solutions().stream()
+                    .map(SolutionOfDay::message)
+                    .forEach(System.out::print);
+        }
+        System.out.println(STR."\uD83D\uDCBE Solver runs saved by the cache: \{savedSolverRuns()}");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package com.github.nggalien.advent;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Finds the next or the last byte of a class in a range of an ASCII input.<br>
+ * The vectorised implementation compares a whole register of bytes at once and is used when the
+ * {@code jdk.incubator.vector} module is present, unless the {@code advent.vector} property is set to false.
+ * The scalar one, reading a byte at a time, is the fallback.
+ */
+sealed interface ByteClassifier permits ByteClassifier.Scalar, VectorByteClassifier {
+
+    /**
+     * Classifier of the running JVM.
+     */
+    ByteClassifier INSTANCE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && Boolean.parseBoolean(System.getProperty("advent.vector", "true"))
+            ? new VectorByteClassifier()
+            : new Scalar();
+
+    /**
+     * Classes of bytes.
+     */
+    enum ByteClass {
+        /**
+         * From {@code 0} to {@code 9}.
+         */
+        DIGIT,
+        /**
+         * The line feed or carriage return ending a line, a {@code \r\n} being seen as a line end and an empty line.
+         */
+        NEW_LINE,
+        /**
+         * Space, tab, line terminators and the other ASCII control chars.
+         */
+        BLANK;
+
+        boolean test(byte b) {
+            return switch (this) {
+                case DIGIT -> b >= '0' && b <= '9';
+                case NEW_LINE -> b == '\n' || b == '\r';
+                case BLANK -> Byte.toUnsignedInt(b) <= ' ';
+            };
+        }
+    }
+
+    /**
+     * Returns the index of the first byte of the class in the range, {@code to} if there is none.
+     */
+    int indexOf(ByteClass byteClass, MemorySegment bytes, int from, int to);
+
+    /**
+     * Returns the index of the first byte not of the class in the range, {@code to} if there is none.
+     */
+    int indexOfNot(ByteClass byteClass, MemorySegment bytes, int from, int to);
+
+    /**
+     * Returns the index of the last byte of the class in the range, {@code from - 1} if there is none.
+     */
+    int lastIndexOf(ByteClass byteClass, MemorySegment bytes, int from, int to);
+
+    /**
+     * Classifier reading a byte at a time.
+     */
+    final class Scalar implements ByteClassifier {
+
+        @Override
+        public int indexOf(ByteClass byteClass, MemorySegment bytes, int from, int to) {
+            return scan(byteClass, true, bytes, from, to);
+        }
+
+        @Override
+        public int indexOfNot(ByteClass byteClass, MemorySegment bytes, int from, int to) {
+            return scan(byteClass, false, bytes, from, to);
+        }
+
+        @Override
+        public int lastIndexOf(ByteClass byteClass, MemorySegment bytes, int from, int to) {
+            return scanBack(byteClass, bytes, from, to);
+        }
+
+        private static int scan(ByteClass byteClass, boolean expected, MemorySegment bytes, int from, int to) {
+            int i = from;
+            while (i < to && byteClass.test(bytes.get(ValueLayout.JAVA_BYTE, i)) != expected) {
+                i++;
+            }
+            return i;
+        }
+
+        private static int scanBack(ByteClass byteClass, MemorySegment bytes, int from, int to) {
+            int i = to - 1;
+            while (i >= from && !byteClass.test(bytes.get(ValueLayout.JAVA_BYTE, i))) {
+                i--;
+            }
+            return i;
+        }
+    }
+}
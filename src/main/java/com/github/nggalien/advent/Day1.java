@@ -1,10 +1,11 @@
 package com.github.nggalien.advent;
 
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
-import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
+import static com.github.nggalien.advent.AdventOfCode2023.inputOfResource;
 
 /**
  * Interface representing the solution for "Day 1: Trebuchet?!" challenge.
@@ -25,6 +26,11 @@ public interface Day1 {
             "nine", 9
     );
 
+    /**
+     * Automaton of the digits, written or spelled out, built once from {@link #digitsAsString}.
+     */
+    DigitScanner digitScanner = DigitScanner.of(digitsAsString);
+
     Map<String, Integer> reverseDigitsAsString = Map.of(
             "eno", 1,
             "owt", 2,
@@ -111,7 +117,43 @@ public interface Day1 {
      * @return Sum of all calibration values.
      */
     default int sumOfAllCalibrationValues(String input) {
-        return input.lines().flatMap(this::findTwoNumbers).mapToInt(TwoNumbers::combine).sum();
+        return input.lines().mapToInt(this::calibrationValue).sum();
+    }
+
+    /**
+     * Calculates the sum of all calibration values straight from the bytes of the input,
+     * without building a String, a stream or a record per line.
+     * @param input ASCII calibration document.
+     * @return Sum of all calibration values.
+     */
+    default long sumOfAllCalibrationValues(PuzzleInput input) {
+        return digitScanner.sumOfCalibrationValues(input.bytes(), 0, input.length());
+    }
+
+    /**
+     * Calculates the calibration value of a single line, 0 if the line has no digit.
+     * The line is read once by {@link #digitScanner}.
+     * @param line The line to search for digits.
+     * @return The calibration value of the line.
+     */
+    default int calibrationValue(String line) {
+        return digitScanner.calibrationValue(line);
+    }
+
+    /**
+     * Returns a solver of the calibration document, line by line.
+     */
+    default LineSolver calibrationSolver() {
+        return this::calibrationValue;
+    }
+
+    /**
+     * Calculates the sum of all calibration values, reading the input line by line.
+     * @param input Stream of the calibration document, it is not closed.
+     * @return Sum of all calibration values.
+     */
+    default long sumOfAllCalibrationValues(InputStream input) {
+        return calibrationSolver().solve(input);
     }
 
     record Solution() implements Day1, AdventOfCode2023.SolutionOfDay<Integer> {
@@ -132,8 +174,8 @@ public interface Day1 {
 
         @Override
         public Integer test() {
-            String input = readFileOfResource("day1.txt");
-            return sumOfAllCalibrationValues(input);
+            PuzzleInput input = inputOfResource("day1.txt");
+            return Math.toIntExact(sumOfAllCalibrationValues(input));
         }
     }
 
@@ -1,13 +1,19 @@
 package com.github.nggalien.advent;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
-import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
-
 /**
  * The `Day2` interface is part of a series of solutions for "Advent of Code 2023".
  * This particular interface deals with a puzzle named "Cube Conundrum" which involves a series
@@ -41,14 +47,101 @@ public interface Day2 {
     }
 
     /**
-     * Represents a cube with a non-blank color attribute.
+     * Dictionary of the known colors, giving each one a small and stable ID.<br>
+     * IDs index the quantities of a {@link CubeRepository}, so a color name is only hashed once, when it is parsed.
+     * Red, green and blue are known from the start, other colors must be {@link #register(String) registered}
+     * before use: looking a color up never adds it, so unknown words of an input cannot grow the dictionary.
+     */
+    final class Colors {
+
+        /**
+         * ID returned for a color that is not registered.
+         */
+        public static final int ABSENT = -1;
+
+        private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+        private static final List<String> NAMES = new CopyOnWriteArrayList<>();
+
+        static {
+            Stream.of("red", "green", "blue").forEach(Colors::register);
+        }
+
+        private Colors() {
+        }
+
+        /**
+         * Returns the ID of a color, {@link #ABSENT} if it is not registered.
+         */
+        public static int find(String color) {
+            return IDS.getOrDefault(color, ABSENT);
+        }
+
+        /**
+         * Returns the ID of the color written in a range of a line, {@link #ABSENT} if it is not registered,
+         * without building its name.
+         */
+        public static int find(CharSequence line, int start, int end) {
+            int length = end - start;
+            for (int id = 0; id < NAMES.size(); id++) {
+                String name = NAMES.get(id);
+                if (name.length() == length && matches(name, line, start)) {
+                    return id;
+                }
+            }
+            return ABSENT;
+        }
+
+        private static boolean matches(String name, CharSequence line, int start) {
+            for (int i = 0; i < name.length(); i++) {
+                if (name.charAt(i) != line.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the ID of a color, assigning the next free one if it is not registered yet.
+         */
+        public static synchronized int register(String color) {
+            if (color == null || color.isBlank()) {
+                throw new IllegalArgumentException("Color cannot be blank");
+            }
+            return IDS.computeIfAbsent(color, name -> {
+                NAMES.add(name);
+                return NAMES.size() - 1;
+            });
+        }
+
+        /**
+         * Returns the name of a color from its ID.
+         */
+        public static String nameOf(int id) {
+            return NAMES.get(id);
+        }
+    }
+
+    /**
+     * Represents a cube with a non-blank color attribute, and the ID of the color in {@link Colors}.
+     * The color must be registered.
      */
-    record Cube(String color) {
+    record Cube(String color, int id) {
 
         public Cube {
             if (color == null || color.isBlank()) {
                 throw new IllegalArgumentException("Color cannot be blank");
             }
+            int registered = Colors.find(color);
+            if (registered == Colors.ABSENT) {
+                throw new IllegalArgumentException(STR."Unknown color \{color}");
+            }
+            if (id != registered) {
+                throw new IllegalArgumentException(STR."ID of \{color} is \{registered}, not \{id}");
+            }
+        }
+
+        public Cube(String color) {
+            this(color, color == null ? Colors.ABSENT : Colors.find(color));
         }
 
         public static Cube of(String red) {
@@ -109,80 +202,322 @@ public interface Day2 {
         }
 
         static Game parse(String input) {
-            String[] parts = input.split(":");
-            if (parts.length != 2) {
+            return new GameLineParser().read(input).toGame();
+        }
+    }
+
+    /**
+     * Cursor reading a game line once, char by char, without splitting it.<br>
+     * The ID and the (color, count) pairs are written in buffers reused from one line to the next,
+     * and the maximum count of each color is kept on the way, so whether the game is playable
+     * and its power are known without building a {@link Game}.
+     * A parser is not thread-safe, solvers keep one per thread.
+     */
+    final class GameLineParser {
+
+        private static final int ABSENT = -1;
+
+        private CharSequence line;
+        private int position;
+        private int id;
+        private int pairs;
+        private int[] colors = new int[16];
+        private int[] counts = new int[16];
+        private int hands;
+        private int[] handEnds = new int[8];
+        private int[] maxima = new int[3];
+
+        /**
+         * Reads a game line, replacing the previous one.
+         *
+         * @param line the line, like {@code Game 1: 3 blue, 4 red; 1 red}
+         * @return this parser
+         * @throws IllegalArgumentException if the line is not a game or names a color that is not registered
+         */
+        public GameLineParser read(CharSequence line) {
+            this.line = line;
+            position = 0;
+            pairs = 0;
+            hands = 0;
+            Arrays.fill(maxima, ABSENT);
+            skipBlanks();
+            if (!accept("Game") || skipBlanks() == 0) {
+                throw new IllegalArgumentException("Invalid game identifier");
+            }
+            id = readNumber("Invalid game identifier");
+            if (!accept(':')) {
                 throw new IllegalArgumentException("Invalid game input");
             }
-            String[] gameIdentifiers = parts[0].split(" ");
-            if (gameIdentifiers.length != 2) {
-                throw new IllegalArgumentException("Invalid game identifier");
+            do {
+                readHand();
+            } while (accept(';'));
+            skipBlanks();
+            if (position != line.length()) {
+                throw new IllegalArgumentException("Invalid game input");
             }
-            if(!gameIdentifiers[0].equals("Game")) {
-                throw new IllegalArgumentException("Invalid game identifier");
+            return this;
+        }
+
+        private void readHand() {
+            do {
+                readCubes();
+            } while (accept(','));
+            if (hands == handEnds.length) {
+                handEnds = Arrays.copyOf(handEnds, hands * 2);
             }
-            if (!gameIdentifiers[1].matches("\\d+")) {
-                throw new IllegalArgumentException("Invalid game identifier");
+            handEnds[hands++] = pairs;
+        }
+
+        private void readCubes() {
+            skipBlanks();
+            int count = readNumber("Invalid cube input");
+            if (skipBlanks() == 0) {
+                throw new IllegalArgumentException("Invalid cube input");
             }
-            int id = Integer.parseInt(gameIdentifiers[1]);
-            Collection<Hand> handList = Stream.of(parts[1].split(";"))
-                    .map(String::trim)
-                    .map(Hand::parse)
-                    .toList();
-            return new Game(id, handList);
+            int start = position;
+            while (position < line.length() && !isSeparator(line.charAt(position))) {
+                position++;
+            }
+            if (position == start) {
+                throw new IllegalArgumentException("Invalid cube input");
+            }
+            int color = Colors.find(line, start, position);
+            if (color == Colors.ABSENT) {
+                throw new IllegalArgumentException(STR."Unknown color \{line.subSequence(start, position)}");
+            }
+            if (pairs == colors.length) {
+                colors = Arrays.copyOf(colors, pairs * 2);
+                counts = Arrays.copyOf(counts, pairs * 2);
+            }
+            colors[pairs] = color;
+            counts[pairs++] = count;
+            if (color >= maxima.length) {
+                int length = maxima.length;
+                maxima = Arrays.copyOf(maxima, Math.max(color + 1, length * 2));
+                Arrays.fill(maxima, length, maxima.length, ABSENT);
+            }
+            if (count > 0) {
+                maxima[color] = Math.max(maxima[color], count);
+            }
+        }
+
+        private static boolean isSeparator(char c) {
+            return c <= ' ' || c == ',' || c == ';';
+        }
+
+        private int skipBlanks() {
+            int start = position;
+            while (position < line.length() && line.charAt(position) <= ' ') {
+                position++;
+            }
+            return position - start;
+        }
+
+        private boolean accept(char expected) {
+            skipBlanks();
+            if (position < line.length() && line.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean accept(String expected) {
+            if (position + expected.length() > line.length() || !Colors.matches(expected, line, position)) {
+                return false;
+            }
+            position += expected.length();
+            return true;
+        }
+
+        private int readNumber(String error) {
+            int start = position;
+            int value = 0;
+            while (position < line.length() && line.charAt(position) >= '0' && line.charAt(position) <= '9') {
+                value = value * 10 + line.charAt(position++) - '0';
+            }
+            if (position == start || position - start > 9) {
+                throw new IllegalArgumentException(error);
+            }
+            return value;
+        }
+
+        /**
+         * Returns the ID of the game.
+         */
+        public int id() {
+            return id;
+        }
+
+        /**
+         * Returns the number of (color, count) pairs of the game, over all its hands.
+         */
+        public int pairs() {
+            return pairs;
+        }
+
+        /**
+         * Returns the color ID of a pair.
+         */
+        public int colorAt(int pair) {
+            return colors[pair];
+        }
+
+        /**
+         * Returns the count of a pair.
+         */
+        public int countAt(int pair) {
+            return counts[pair];
+        }
+
+        /**
+         * Returns true if every hand of the game can be picked from the repository.
+         */
+        public boolean isPlayableWith(CubeRepository repository) {
+            for (int color = 0; color < maxima.length; color++) {
+                if (maxima[color] != ABSENT && repository.countOf(color) < maxima[color]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the product of the maximum count of each color of the game.
+         */
+        public long power() {
+            long power = 1;
+            for (int maximum : maxima) {
+                if (maximum != ABSENT) {
+                    power *= maximum;
+                }
+            }
+            return power;
+        }
+
+        /**
+         * Builds the game read last.
+         */
+        public Game toGame() {
+            List<Hand> handList = new ArrayList<>(hands);
+            int pair = 0;
+            for (int hand = 0; hand < hands; hand++) {
+                List<CubesOfColor> cubes = new ArrayList<>(handEnds[hand] - pair);
+                for (; pair < handEnds[hand]; pair++) {
+                    cubes.add(CubesOfColor.of(new Cube(Colors.nameOf(colors[pair]), colors[pair]), Quantity.of(counts[pair])));
+                }
+                handList.add(new Hand(List.copyOf(cubes)));
+            }
+            return new Game(id, List.copyOf(handList));
         }
     }
 
     /**
      * Manages a collection of cubes, supporting various operations like adding cubes,
-     * checking if a certain quantity of cubes can be picked, etc.
+     * checking if a certain quantity of cubes can be picked, etc.<br>
+     * Quantities are kept in an array indexed by color ID, {@link #ABSENT} for the colors never added.
      */
-    record CubeRepository(Map<Cube, Quantity> cubes) {
+    final class CubeRepository {
+
+        private static final int ABSENT = -1;
+
+        private int[] quantities;
 
         public CubeRepository() {
-            this(new HashMap<>());
+            quantities = new int[3];
+            Arrays.fill(quantities, ABSENT);
+        }
+
+        private int quantityAt(int id) {
+            return id < quantities.length ? quantities[id] : ABSENT;
+        }
+
+        private int countOf(int id) {
+            return Math.max(quantityAt(id), 0);
+        }
+
+        private void put(int id, int quantity) {
+            if (id >= quantities.length) {
+                int length = quantities.length;
+                quantities = Arrays.copyOf(quantities, Math.max(id + 1, length * 2));
+                Arrays.fill(quantities, length, quantities.length, ABSENT);
+            }
+            quantities[id] = quantity;
         }
 
         void add(CubesOfColor set) {
-            cubes.compute(set.cube(), (_, quantity) -> Optional.ofNullable(quantity)
-                    .map(q -> q.add(set.quantity()))
-                    .orElse(set.quantity()));
+            put(set.cube().id(), countOf(set.cube().id()) + set.quantity().value());
         }
 
+        /**
+         * Raises the quantity of the color to the one of the set, a set of no cube leaving the color absent.
+         */
         void addMissingToFill(CubesOfColor set) {
-            var existing = Optional.ofNullable(cubes.get(set.cube())).orElse(Quantity.of(0));
-            if(existing.isLessThan(set.quantity())) {
-                cubes.put(set.cube(), set.quantity());
+            int id = set.cube().id();
+            if (countOf(id) < set.quantity().value()) {
+                put(id, set.quantity().value());
             }
         }
 
         void addMissingToFill(Hand hand) {
-            hand.cubes().forEach(this::addMissingToFill);
+            for (CubesOfColor set : hand.cubes()) {
+                addMissingToFill(set);
+            }
         }
 
         void addMissingToFill(Game game) {
-            game.hands().forEach(this::addMissingToFill);
+            for (Hand hand : game.hands()) {
+                addMissingToFill(hand);
+            }
         }
 
         Quantity quantityOf(Cube cube) {
-            return Optional.ofNullable(cubes.get(cube)).orElse(Quantity.of(0));
+            return Quantity.of(countOf(cube.id()));
         }
 
         boolean canPick(CubesOfColor set) {
-            return !quantityOf(set.cube()).isLessThan(set.quantity());
+            return countOf(set.cube().id()) >= set.quantity().value();
         }
 
         boolean canPick(Hand hand) {
-            return hand.cubes().stream().allMatch(this::canPick);
+            for (CubesOfColor set : hand.cubes()) {
+                if (!canPick(set)) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         boolean canPick(Game game) {
-            return game.hands().stream().allMatch(this::canPick);
+            for (Hand hand : game.hands()) {
+                if (!canPick(hand)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the product of the quantities of the colors added, 1 if there is none.
+         */
+        long power() {
+            long power = 1;
+            for (int quantity : quantities) {
+                if (quantity != ABSENT) {
+                    power *= quantity;
+                }
+            }
+            return power;
         }
 
         Collection<CubesOfColor> cubesForColor() {
-            return cubes.entrySet().stream()
-                    .map(entry -> CubesOfColor.of(entry.getKey(), entry.getValue()))
-                    .toList();
+            List<CubesOfColor> cubes = new ArrayList<>();
+            for (int id = 0; id < quantities.length; id++) {
+                if (quantities[id] != ABSENT) {
+                    cubes.add(CubesOfColor.of(new Cube(Colors.nameOf(id), id), Quantity.of(quantities[id])));
+                }
+            }
+            return cubes;
         }
 
         static CubeRepository parse(String hand) {
@@ -195,12 +530,103 @@ public interface Day2 {
         }
     }
 
+    /**
+     * Running totals of a feed of games, updated one game line at a time.<br>
+     * Each bag configuration, given as a hand like {@code 12 red, 13 green, 14 blue}, keeps its own sum of the IDs of the
+     * playable games, next to the total power of the games, so they are all queried in constant time
+     * without reading the history again. Lines may be accepted from several threads at once.
+     */
+    final class GameAggregator implements Consumer<String> {
+
+        private final Map<String, Integer> bagIndexes = new HashMap<>();
+        private final CubeRepository[] bags;
+        private final LongAdder[] playableSums;
+        private final LongAdder totalPower = new LongAdder();
+        private final LongAdder games = new LongAdder();
+        private final ThreadLocal<GameLineParser> parsers = ThreadLocal.withInitial(GameLineParser::new);
+
+        /**
+         * Creates an aggregator evaluating the games against each of the bags.
+         *
+         * @param hands the content of each bag
+         */
+        public GameAggregator(String... hands) {
+            bags = new CubeRepository[hands.length];
+            playableSums = new LongAdder[hands.length];
+            for (int i = 0; i < hands.length; i++) {
+                if (bagIndexes.putIfAbsent(hands[i].trim(), i) != null) {
+                    throw new IllegalArgumentException(STR."Duplicate bag \{hands[i].trim()}");
+                }
+                bags[i] = CubeRepository.parse(hands[i]);
+                playableSums[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Adds a game to the totals, blank lines are ignored.
+         *
+         * @param gameLine the line of the game, like {@code Game 1: 3 blue, 4 red; 1 red}
+         */
+        @Override
+        public void accept(String gameLine) {
+            if (gameLine.isBlank()) {
+                return;
+            }
+            GameLineParser game = parsers.get().read(gameLine);
+            for (int i = 0; i < bags.length; i++) {
+                if (game.isPlayableWith(bags[i])) {
+                    playableSums[i].add(game.id());
+                }
+            }
+            totalPower.add(game.power());
+            games.increment();
+        }
+
+        /**
+         * Returns the sum of the IDs of the games accepted so far that are playable with a bag.
+         *
+         * @param hand the content of the bag, as given to the constructor
+         */
+        public long sumOfAllPlayableGamesNumber(String hand) {
+            Integer index = bagIndexes.get(hand.trim());
+            if (index == null) {
+                throw new IllegalArgumentException(STR."Unknown bag \{hand.trim()}");
+            }
+            return playableSums[index].sum();
+        }
+
+        /**
+         * Returns the total power of the games accepted so far.
+         */
+        public long powerOffAllGames() {
+            return totalPower.sum();
+        }
+
+        /**
+         * Returns the number of games accepted so far.
+         */
+        public long games() {
+            return games.sum();
+        }
+    }
+
+    /**
+     * Parser of the games, used as the key of the parsed games in the {@link InputCache}.
+     */
+    Function<String, Collection<Game>> gamesProvider = Day2::parse;
+
     /**
      * Determines the sum of the IDs of all playable games based on a given hand and set of games.
      */
     default int sumOfAllPlayableGamesNumber(String hand, String games) {
+        return sumOfAllPlayableGamesNumber(hand, parse(games));
+    }
+
+    /**
+     * Determines the sum of the IDs of all playable games based on a given hand and already parsed games.
+     */
+    default int sumOfAllPlayableGamesNumber(String hand, Collection<Game> gamesToPlay) {
         CubeRepository repository = CubeRepository.parse(hand);
-        Collection<Game> gamesToPlay = parse(games);
         return gamesToPlay.stream()
                 .filter(repository::canPick)
                 .mapToInt(Game::id)
@@ -208,28 +634,65 @@ public interface Day2 {
 
     }
 
+    /**
+     * Returns a solver giving the ID of a game line if it is playable with the given hand, 0 otherwise.
+     */
+    default LineSolver playableGameSolver(String hand) {
+        CubeRepository repository = CubeRepository.parse(hand);
+        ThreadLocal<GameLineParser> parsers = ThreadLocal.withInitial(GameLineParser::new);
+        return line -> {
+            GameLineParser game = parsers.get().read(line);
+            return game.isPlayableWith(repository) ? game.id() : 0;
+        };
+    }
+
+    /**
+     * Returns a solver giving the power of a game line.
+     */
+    default LineSolver powerSolver() {
+        ThreadLocal<GameLineParser> parsers = ThreadLocal.withInitial(GameLineParser::new);
+        return line -> parsers.get().read(line).power();
+    }
+
+    /**
+     * Determines the sum of the IDs of all playable games, reading the games line by line.
+     */
+    default long sumOfAllPlayableGamesNumber(String hand, InputStream games) {
+        return playableGameSolver(hand).solve(games);
+    }
+
     /**
      * Calculates the power of a given game.
      */
     default long powerOfGame(Game game) {
         CubeRepository repository = new CubeRepository();
         repository.addMissingToFill(game);
-        return repository.cubesForColor().stream()
-                .map(CubesOfColor::powerOfCubes)
-                .reduce(1, (first, second) -> first * second);
+        return repository.power();
     }
 
     /**
      * Calculates the total power of all games.
      */
     default long powerOffAllGames(String games) {
+        return powerOffAllGames(parse(games));
+    }
 
-        Collection<Game> gamesToPlay = parse(games);
+    /**
+     * Calculates the total power of already parsed games.
+     */
+    default long powerOffAllGames(Collection<Game> gamesToPlay) {
         return gamesToPlay.stream().
                 mapToLong(this::powerOfGame)
                 .sum();
     }
 
+    /**
+     * Calculates the total power of all games, reading the games line by line.
+     */
+    default long powerOffAllGames(InputStream games) {
+        return powerSolver().solve(games);
+    }
+
     /**
      * Parses a string input into a collection of `Game` objects.
      */
@@ -264,8 +727,8 @@ public interface Day2 {
             String hand = """
                 12 red, 13 green, 14 blue
                 """;
-            String games = readFileOfResource("day2.txt");
-            return sumOfAllPlayableGamesNumber(hand, games);
+            PuzzleInput games = AdventOfCode2023.inputOfResource("day2.txt");
+            return Math.toIntExact(playableGameSolver(hand).solve(games));
         }
     }
 
@@ -290,8 +753,8 @@ public interface Day2 {
 
         @Override
         public Long test() {
-            String games = readFileOfResource("day2.txt");
-            return powerOffAllGames(games);
+            PuzzleInput games = AdventOfCode2023.inputOfResource("day2.txt");
+            return powerSolver().solve(games);
         }
     }
 
@@ -1,8 +1,19 @@
 package com.github.nggalien.advent;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -136,30 +147,125 @@ public interface Day3 {
     }
 
     /**
-     * Represents a motor schematic, which is a collection of parts.
+     * Represents a motor schematic, stored in columns rather than as a list of parts.<br>
+     * Numbers are kept in parallel arrays of values, first columns and last columns, and symbols in parallel arrays
+     * of chars and columns, both sorted by row then by column. The row of a part is given by the offsets of the
+     * first number and the first symbol of each row, which is also what neighbourhood queries need:
+     * the parts of a row near a column are found with a binary search, as the parts of a row never overlap.
+     * A number takes 12 bytes and a symbol 6, instead of a record, a zone and two positions each.
      */
-    record Motor(List<MotoPart> parts) {
+    final class Motor {
+
+        private final int[] values;
+        private final int[] firstColumns;
+        private final int[] lastColumns;
+        private final int[] numberRows;
+        private final char[] symbols;
+        private final int[] symbolColumns;
+        private final int[] symbolRows;
+
+        private Motor(int[] values, int[] firstColumns, int[] lastColumns, int[] numberRows,
+                      char[] symbols, int[] symbolColumns, int[] symbolRows) {
+            this.values = values;
+            this.firstColumns = firstColumns;
+            this.lastColumns = lastColumns;
+            this.numberRows = numberRows;
+            this.symbols = symbols;
+            this.symbolColumns = symbolColumns;
+            this.symbolRows = symbolRows;
+        }
+
+        /**
+         * Returns the number of rows of the schematic.
+         */
+        int rows() {
+            return numberRows.length - 1;
+        }
 
         /**
-         * Returns a stream of all the number parts in the schematic.
+         * Returns a stream of all the number parts in the schematic, built on demand.
          *
          * @return a stream of all the number parts in the schematic
          */
         Stream<Number> numberParts() {
-            return parts.stream()
-                    .filter(Number.class::isInstance)
-                    .map(Number.class::cast);
+            return IntStream.range(0, rows()).boxed()
+                    .flatMap(row -> IntStream.range(numberRows[row], numberRows[row + 1])
+                            .mapToObj(number -> numberAt(number, row)));
         }
 
         /**
-         * Returns a stream of all the symbol parts in the schematic.
+         * Returns a stream of all the symbol parts in the schematic, built on demand.
          *
          * @return a stream of all the symbol parts in the schematic
          */
         Stream<Symbol> symbolParts() {
-            return parts.stream()
-                    .filter(Symbol.class::isInstance)
-                    .map(Symbol.class::cast);
+            return IntStream.range(0, rows()).boxed()
+                    .flatMap(row -> IntStream.range(symbolRows[row], symbolRows[row + 1])
+                            .mapToObj(symbol -> {
+                                Position position = new Position(symbolColumns[symbol], row);
+                                return Symbol.of(symbols[symbol], new Zone(position, position));
+                            }));
+        }
+
+        private Number numberAt(int number, int row) {
+            return Number.of(values[number],
+                    new Zone(new Position(firstColumns[number], row), new Position(lastColumns[number], row)));
+        }
+
+        /**
+         * Returns the index of the first of the sorted columns in {@code [from, to)} that is at least {@code column},
+         * {@code to} if there is none.
+         */
+        static int firstAtOrAfter(int[] columns, int from, int to, int column) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (columns[middle] < column) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns true if a symbol is in the zone of the number inflated by 1.
+         */
+        private boolean isAdjacentToSymbol(int number, int row) {
+            for (int near = Math.max(0, row - 1); near <= Math.min(rows() - 1, row + 1); near++) {
+                int symbol = firstAtOrAfter(symbolColumns, symbolRows[near], symbolRows[near + 1], firstColumns[number] - 1);
+                if (symbol < symbolRows[near + 1] && symbolColumns[symbol] <= lastColumns[number] + 1) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Consumer of a number of the motor and of its row.
+         */
+        @FunctionalInterface
+        private interface NumberConsumer {
+            void accept(int number, int row);
+        }
+
+        /**
+         * Calls the consumer with each number crossing the zone of the symbol inflated by 1, and returns their count.
+         */
+        private int numbersAround(int symbol, int row, NumberConsumer consumer) {
+            int column = symbolColumns[symbol];
+            int count = 0;
+            for (int near = Math.max(0, row - 1); near <= Math.min(rows() - 1, row + 1); near++) {
+                int end = numberRows[near + 1];
+                for (int number = firstAtOrAfter(lastColumns, numberRows[near], end, column - 1);
+                     number < end && firstColumns[number] <= column + 1; number++) {
+                    consumer.accept(number, near);
+                    count++;
+                }
+            }
+            return count;
         }
 
         /**
@@ -170,11 +276,10 @@ public interface Day3 {
          * @return a stream of all the number parts that are adjacent to a symbol part
          */
         Stream<Number> numberPartsAdjacentToSymbols() {
-            return numberParts()
-                    .filter(number ->
-                            symbolParts().anyMatch(symbol ->
-                                    number.zone().inflate(1).contains(symbol.zone()))
-                    );
+            return IntStream.range(0, rows()).boxed()
+                    .flatMap(row -> IntStream.range(numberRows[row], numberRows[row + 1])
+                            .filter(number -> isAdjacentToSymbol(number, row))
+                            .mapToObj(number -> numberAt(number, row)));
         }
 
         /**
@@ -183,77 +288,389 @@ public interface Day3 {
          * @return the sum of all the part numbers in the schematic
          */
         long sumOfAllPartNumbers() {
-            return numberPartsAdjacentToSymbols()
-                    .mapToLong(Number::value)
-                    .sum();
+            long sum = 0;
+            for (int row = 0; row < rows(); row++) {
+                for (int number = numberRows[row]; number < numberRows[row + 1]; number++) {
+                    if (isAdjacentToSymbol(number, row)) {
+                        sum += values[number];
+                    }
+                }
+            }
+            return sum;
         }
 
         /**
-         * Returns a stream of all the number parts that intersect a gear candidate.<br>
+         * Returns a stream of all the gears in the schematic.<br>
+         * A gear is an asterisk with exactly two numbers in its zone inflated by 1.
          *
-         * @param symbol the symbol to check for gear candidates
-         * @return a stream of all the number parts that intersect a gear candidate
+         * @return a stream of all the gears in the schematic
          */
-        Stream<Number> numbersThatIntersectGearCandidate(Symbol symbol) {
-            return numberParts()
-                    .filter(number -> symbol.zone().inflate(1).intersects(number.zone())).distinct();
+        Stream<Gear> gears() {
+            return IntStream.range(0, rows()).boxed()
+                    .flatMap(row -> IntStream.range(symbolRows[row], symbolRows[row + 1])
+                            .filter(symbol -> symbols[symbol] == '*')
+                            .mapToObj(symbol -> {
+                                List<Number> numbers = new ArrayList<>();
+                                numbersAround(symbol, row, (number, near) -> numbers.add(numberAt(number, near)));
+                                return numbers.size() == 2 ? Gear.of(numbers.get(0), numbers.get(1)) : null;
+                            })
+                            .filter(Objects::nonNull));
         }
 
         /**
-         * Returns a stream of all the gear candidates for the given symbol.<br>
-         * A gear candidate is a pair of numbers that intersect the given symbol.
-         * If there are not exactly two numbers that intersect the given symbol, then an empty stream is returned.
+         * Returns the sum of all the gear ratios in the schematic.
          *
-         * @param symbol the symbol to check for gear candidates
-         * @return a stream of all the gear candidates for the given symbol
+         * @return the sum of all the gear ratios in the schematic
          */
-        Stream<Gear> gearCandidatesForSymbol(Symbol symbol) {
-            var partList = numbersThatIntersectGearCandidate(symbol)
-                    .toList();
-            if (partList.size() != 2) {
-                return Stream.empty();
+        long sumOfAllGearRatios() {
+            long sum = 0;
+            long[] ratio = new long[1];
+            for (int row = 0; row < rows(); row++) {
+                for (int symbol = symbolRows[row]; symbol < symbolRows[row + 1]; symbol++) {
+                    if (symbols[symbol] == '*') {
+                        ratio[0] = 1;
+                        if (numbersAround(symbol, row, (number, _) -> ratio[0] *= values[number]) == 2) {
+                            sum += ratio[0];
+                        }
+                    }
+                }
             }
-            return Stream.of(Gear.of(partList.get(0), partList.get(1)));
+            return sum;
         }
 
         /**
-         * Returns a stream of all the gears in the schematic.
+         * Returns a motor schematic parsed from the given input.
          *
-         * @return a stream of all the gears in the schematic
+         * @param input the input to parse
+         * @return a motor schematic parsed from the given input
          */
-        Stream<Gear> gears() {
-            return symbolParts()
-                    .filter(Symbol::isGear)
-                    .flatMap(this::gearCandidatesForSymbol);
+        static Motor of(String input) {
+            var builder = new Builder();
+            input.lines().forEach(builder::addRow);
+            return builder.build();
         }
 
         /**
-         * Returns the sum of all the gear ratios in the schematic.
+         * Fills the columns of a motor one row at a time.
+         */
+        static final class Builder {
+
+            private int[] values = new int[64];
+            private int[] firstColumns = new int[64];
+            private int[] lastColumns = new int[64];
+            private int[] numberRows = new int[64];
+            private int numbers;
+            private char[] symbols = new char[64];
+            private int[] symbolColumns = new int[64];
+            private int[] symbolRows = new int[64];
+            private int symbolCount;
+            private int rows;
+
+            /**
+             * Parses the next row of the schematic.<br>
+             * A number is a sequence of digits, and a symbol is any other character but a period.
+             */
+            void addRow(CharSequence line) {
+                int column = 0;
+                while (column < line.length()) {
+                    char c = line.charAt(column);
+                    if (c >= '0' && c <= '9') {
+                        int first = column;
+                        int value = 0;
+                        while (column < line.length() && line.charAt(column) >= '0' && line.charAt(column) <= '9') {
+                            value = value * 10 + line.charAt(column) - '0';
+                            column++;
+                        }
+                        addNumber(value, first, column - 1);
+                    } else {
+                        if (c != '.' && c != '\r') {
+                            addSymbol(c, column);
+                        }
+                        column++;
+                    }
+                }
+                rows++;
+                if (rows + 1 > numberRows.length) {
+                    numberRows = Arrays.copyOf(numberRows, numberRows.length * 2);
+                    symbolRows = Arrays.copyOf(symbolRows, symbolRows.length * 2);
+                }
+                numberRows[rows] = numbers;
+                symbolRows[rows] = symbolCount;
+            }
+
+            private void addNumber(int value, int first, int last) {
+                if (numbers == values.length) {
+                    values = Arrays.copyOf(values, numbers * 2);
+                    firstColumns = Arrays.copyOf(firstColumns, numbers * 2);
+                    lastColumns = Arrays.copyOf(lastColumns, numbers * 2);
+                }
+                values[numbers] = value;
+                firstColumns[numbers] = first;
+                lastColumns[numbers++] = last;
+            }
+
+            private void addSymbol(char symbol, int column) {
+                if (symbolCount == symbols.length) {
+                    symbols = Arrays.copyOf(symbols, symbolCount * 2);
+                    symbolColumns = Arrays.copyOf(symbolColumns, symbolCount * 2);
+                }
+                symbols[symbolCount] = symbol;
+                symbolColumns[symbolCount++] = column;
+            }
+
+            /**
+             * Returns the motor of the rows added so far, with arrays trimmed to their content.
+             */
+            Motor build() {
+                return new Motor(Arrays.copyOf(values, numbers), Arrays.copyOf(firstColumns, numbers),
+                        Arrays.copyOf(lastColumns, numbers), Arrays.copyOf(numberRows, rows + 1),
+                        Arrays.copyOf(symbols, symbolCount), Arrays.copyOf(symbolColumns, symbolCount),
+                        Arrays.copyOf(symbolRows, rows + 1));
+            }
+        }
+    }
+
+    /**
+     * Solver of a schematic streamed one row at a time.<br>
+     * A part number only depends on the rows above and below it, so only three rows are kept, in a ring:
+     * when a row arrives, the one before it has both its neighbours and its part numbers and gears are added to the sums.
+     * Memory is bound by the width of the schematic, whatever its height.
+     * A window is not thread-safe.
+     */
+    final class SchematicWindow {
+
+        private static final Row EMPTY = new Row();
+
+        private final Row[] ring = {new Row(), new Row(), new Row()};
+        private long rows;
+        private boolean finished;
+        private long sumOfAllPartNumbers;
+        private long sumOfAllGearRatios;
+
+        /**
+         * Adds the next row of the schematic, and solves the row before it.
          *
-         * @return the sum of all the gear ratios in the schematic
+         * @param line the row, without its line terminator
          */
-        long sumOfAllGearRatios() {
-            return gears()
-                    .mapToLong(Gear::gearRatio)
-                    .sum();
+        public void accept(CharSequence line) {
+            accept(line, 0, line.length());
         }
 
         /**
-         * Returns a motor schematic parsed from the given input.
+         * Adds the next row of the schematic, read from a range of a text.
+         */
+        public void accept(CharSequence text, int from, int to) {
+            if (finished) {
+                throw new IllegalStateException("Schematic is already finished");
+            }
+            ring[(int) (rows % 3)].parse(text, from, to);
+            rows++;
+            if (rows >= 2) {
+                solveRow(rows - 2, ring[(int) ((rows - 1) % 3)]);
+            }
+        }
+
+        /**
+         * Solves the last row, no row can be added afterwards.
          *
-         * @param input the input to parse
-         * @return a motor schematic parsed from the given input
+         * @return this window
          */
-        static Motor of(String input) {
-            List<MotoPart> parts = new ArrayList<>();
-            String[] lines = input.split("\n");
-            for (int i = 0; i < lines.length; i++) {
-                parts.addAll(parseLine(lines[i], i));
+        public SchematicWindow finish() {
+            if (!finished && rows >= 1) {
+                solveRow(rows - 1, EMPTY);
+            }
+            finished = true;
+            return this;
+        }
+
+        private void solveRow(long row, Row below) {
+            Row above = row >= 1 ? ring[(int) ((row - 1) % 3)] : EMPTY;
+            Row middle = ring[(int) (row % 3)];
+            sumOfAllPartNumbers += Row.partNumbers(above, middle, below);
+            sumOfAllGearRatios += Row.gearRatios(above, middle, below);
+        }
+
+        /**
+         * Returns the sum of the part numbers of the rows solved so far.
+         */
+        public long sumOfAllPartNumbers() {
+            return sumOfAllPartNumbers;
+        }
+
+        /**
+         * Returns the sum of the gear ratios of the rows solved so far.
+         */
+        public long sumOfAllGearRatios() {
+            return sumOfAllGearRatios;
+        }
+
+        /**
+         * Solves a schematic read line by line.
+         *
+         * @param reader the reader of the schematic, it is not closed
+         * @return the finished window
+         */
+        public static SchematicWindow solve(BufferedReader reader) {
+            var window = new SchematicWindow();
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    window.accept(line);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return window.finish();
+        }
+
+        /**
+         * Solves an ASCII schematic file read line by line, so it can be larger than the heap.
+         *
+         * @param path the path of the schematic
+         * @return the finished window
+         */
+        public static SchematicWindow solve(Path path) {
+            try (var reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+                return solve(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Sums of a schematic, or of a band of its rows.
+         */
+        public record Sums(long sumOfAllPartNumbers, long sumOfAllGearRatios) {
+            Sums plus(Sums other) {
+                return new Sums(sumOfAllPartNumbers + other.sumOfAllPartNumbers, sumOfAllGearRatios + other.sumOfAllGearRatios);
+            }
+        }
+
+        /**
+         * Solves a schematic held in memory on the common fork-join pool, cut in bands of whole rows.<br>
+         * Each band also reads the row above and the row below it, but only solves its own rows,
+         * so a number is counted by the band of its row only, and a gear sees its numbers even across bands.
+         *
+         * @param schematic the schematic, like a mapped {@link PuzzleInput}
+         * @return the sums, identical to the sequential ones
+         */
+        public static Sums solveInParallel(CharSequence schematic) {
+            return ForkJoinPool.commonPool().invoke(new SchematicBandTask(schematic, 0, schematic.length()));
+        }
+
+        /**
+         * Parsed row of a schematic, in the same columns as the {@link Motor}, with arrays reused from one row to the next.
+         */
+        static final class Row {
+
+            private int[] values = new int[16];
+            private int[] firstColumns = new int[16];
+            private int[] lastColumns = new int[16];
+            private int numbers;
+            private char[] symbols = new char[16];
+            private int[] symbolColumns = new int[16];
+            private int symbolCount;
+
+            /**
+             * Parses a row from a range of a text, replacing the previous one.
+             */
+            void parse(CharSequence text, int from, int to) {
+                numbers = 0;
+                symbolCount = 0;
+                int index = from;
+                while (index < to) {
+                    char c = text.charAt(index);
+                    if (c >= '0' && c <= '9') {
+                        int first = index - from;
+                        int value = 0;
+                        while (index < to && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+                            value = value * 10 + text.charAt(index) - '0';
+                            index++;
+                        }
+                        if (numbers == values.length) {
+                            values = Arrays.copyOf(values, numbers * 2);
+                            firstColumns = Arrays.copyOf(firstColumns, numbers * 2);
+                            lastColumns = Arrays.copyOf(lastColumns, numbers * 2);
+                        }
+                        values[numbers] = value;
+                        lastColumns[numbers] = index - 1 - from;
+                        firstColumns[numbers++] = first;
+                    } else {
+                        if (c != '.' && c != '\r') {
+                            if (symbolCount == symbols.length) {
+                                symbols = Arrays.copyOf(symbols, symbolCount * 2);
+                                symbolColumns = Arrays.copyOf(symbolColumns, symbolCount * 2);
+                            }
+                            symbols[symbolCount] = c;
+                            symbolColumns[symbolCount++] = index - from;
+                        }
+                        index++;
+                    }
+                }
+            }
+
+            private boolean hasSymbolAround(int first, int last) {
+                int symbol = Motor.firstAtOrAfter(symbolColumns, 0, symbolCount, first - 1);
+                return symbol < symbolCount && symbolColumns[symbol] <= last + 1;
+            }
+
+            /**
+             * Returns the sum of the numbers of the middle row adjacent to a symbol of the three rows.
+             */
+            static long partNumbers(Row above, Row middle, Row below) {
+                long sum = 0;
+                for (int number = 0; number < middle.numbers; number++) {
+                    int first = middle.firstColumns[number];
+                    int last = middle.lastColumns[number];
+                    if (middle.hasSymbolAround(first, last) || above.hasSymbolAround(first, last) || below.hasSymbolAround(first, last)) {
+                        sum += middle.values[number];
+                    }
+                }
+                return sum;
+            }
+
+            /**
+             * Returns the sum of the ratios of the gears of the middle row, with their numbers in the three rows.
+             */
+            static long gearRatios(Row above, Row middle, Row below) {
+                long sum = 0;
+                for (int symbol = 0; symbol < middle.symbolCount; symbol++) {
+                    if (middle.symbols[symbol] != '*') {
+                        continue;
+                    }
+                    int column = middle.symbolColumns[symbol];
+                    if (above.numbersAround(column) + middle.numbersAround(column) + below.numbersAround(column) == 2) {
+                        sum += above.productAround(column) * middle.productAround(column) * below.productAround(column);
+                    }
+                }
+                return sum;
+            }
+
+            private int numbersAround(int column) {
+                int from = Motor.firstAtOrAfter(lastColumns, 0, numbers, column - 1);
+                int to = from;
+                while (to < numbers && firstColumns[to] <= column + 1) {
+                    to++;
+                }
+                return to - from;
+            }
+
+            private long productAround(int column) {
+                long product = 1;
+                for (int number = Motor.firstAtOrAfter(lastColumns, 0, numbers, column - 1);
+                     number < numbers && firstColumns[number] <= column + 1; number++) {
+                    product *= values[number];
+                }
+                return product;
             }
-            return new Motor(parts);
         }
     }
 
+    /**
+     * Parser of the motor, used as the key of the parsed motor in the {@link InputCache}.
+     */
+    Function<String, Motor> motorProvider = Motor::of;
+
     /**
      * Parses a line of the schematic into a collection of parts.<br>
      * A part is either a number or a symbol.
@@ -276,17 +693,16 @@ public interface Day3 {
                 index++;
                 continue;
             }
-            Zone zone = new Zone(new Position(index, lineNumber), new Position(index, lineNumber));
+            Position start = new Position(index, lineNumber);
             if (Character.isDigit(c)) {
                 int value = 0;
                 while (index < line.length() && Character.isDigit(line.charAt(index))) {
                     value = value * 10 + Character.getNumericValue(line.charAt(index));
-                    zone = new Zone(zone.topLeft(), new Position(index, lineNumber));
                     index++;
                 }
-                items.add(Number.of(value, zone));
+                items.add(Number.of(value, new Zone(start, new Position(index - 1, lineNumber))));
             } else {
-                items.add(Symbol.of(c, zone));
+                items.add(Symbol.of(c, new Zone(start, start)));
                 index++;
             }
         }
@@ -310,14 +726,13 @@ public interface Day3 {
 
         @Override
         public Long rightAnswer() {
-            var input = AdventOfCode2023.readFileOfResource("day3.txt");
-            Motor motor = Motor.of(input);
-            return motor.sumOfAllPartNumbers();
+            return 537732L;
         }
 
         @Override
         public Long test() {
-            return 537732L;
+            Motor motor = InputCache.shared().parsed("day3.txt", motorProvider);
+            return motor.sumOfAllPartNumbers();
         }
     }
 
@@ -338,14 +753,13 @@ public interface Day3 {
 
         @Override
         public Long rightAnswer() {
-            var input = AdventOfCode2023.readFileOfResource("day3.txt");
-            Motor motor = Motor.of(input);
-            return motor.sumOfAllGearRatios();
+            return 84883664L;
         }
 
         @Override
         public Long test() {
-            return 84883664L;
+            Motor motor = InputCache.shared().parsed("day3.txt", motorProvider);
+            return motor.sumOfAllGearRatios();
         }
     }
 
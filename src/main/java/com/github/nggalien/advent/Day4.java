@@ -1,29 +1,90 @@
 package com.github.nggalien.advent;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
-
 
 public interface Day4 {
 
-    record Card(int number, int copies, int[] goodNumbers, int[] myNumbers) {
+    /**
+     * A card, with its number of copies and its number of matches.<br>
+     * Its winning numbers and the numbers it holds are read as bitsets, bit {@code n} being set for number {@code n},
+     * and the number of matches is the population count of their intersection, computed once when the card is built.
+     * The bitsets are not kept, so a card cannot be built with matches that are not the ones of its numbers.
+     */
+    final class Card {
+
+        private final int number;
+        private final int copies;
+        private final int matches;
+
+        private Card(int number, int copies, int matches) {
+            this.number = number;
+            this.copies = copies;
+            this.matches = matches;
+        }
 
         static Card of(int number, int copies, int[] goodNumbers, int[] myNumbers) {
-            return new Card(number, copies, goodNumbers, myNumbers);
+            return new Card(number, copies, matchesOf(bitsOf(goodNumbers), bitsOf(myNumbers)));
+        }
+
+        int number() {
+            return number;
+        }
+
+        int copies() {
+            return copies;
+        }
+
+        int matches() {
+            return matches;
+        }
+
+        private static long[] bitsOf(int[] numbers) {
+            long[] bits = new long[IntStream.of(numbers).max().orElse(0) / Long.SIZE + 1];
+            for (int n : numbers) {
+                if (n < 0) {
+                    throw new IllegalArgumentException("Card numbers must be positive");
+                }
+                bits[n / Long.SIZE] |= 1L << n;
+            }
+            return bits;
+        }
+
+        private static int matchesOf(long[] good, long[] mine) {
+            int matches = 0;
+            for (int i = 0; i < Math.min(good.length, mine.length); i++) {
+                matches += Long.bitCount(good[i] & mine[i]);
+            }
+            return matches;
         }
 
         long numberOfMatches() {
-            return IntStream.of(goodNumbers)
-                    .filter(n -> IntStream.of(myNumbers).anyMatch(m -> m == n))
-                    .count();
+            return matches;
         }
 
+        /**
+         * Returns the score of the card, 1 for the first match, doubled for each of the others.
+         *
+         * @throws ArithmeticException if the card has more than 63 matches, as its score does not fit in a long
+         */
         long score() {
-            return (long) Math.pow(2, numberOfMatches() - 1);
+            if (matches >= Long.SIZE) {
+                throw new ArithmeticException(STR."Score of \{matches} matches overflows a long");
+            }
+            return matches == 0 ? 0 : 1L << (matches - 1);
         }
 
         /**
@@ -43,41 +104,209 @@ public interface Day4 {
             return Card.of(gameNumber, 1, parseNumbers(goodNumbers), parseNumbers(myNumbers));
         }
 
-        Card duplicate(int nTimes) {
-            return Card.of(number, copies + nTimes, goodNumbers, myNumbers);
+        @Override
+        public String toString() {
+            return STR."Card[number=\{number}, copies=\{copies}, matches=\{matches}]";
         }
-
     }
 
     record Game(List<Card> cards) {
         long score() {
-            return cards.stream().mapToLong(Card::score).sum();
+            return cards.stream().mapToLong(Card::score).reduce(0, Math::addExact);
+        }
+
+        /**
+         * Counts the cards won, without changing the cards so the game can be shared.
+         */
+        long copiesWin() {
+            int[] matches = new int[cards.size()];
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = cards.get(i).matches();
+            }
+            return Day4.copiesWin(matches, i -> cards.get(i).copies());
+        }
+    }
+
+    /**
+     * Counts the cards won by a deck, from the number of matches of each card, in a single pass.<br>
+     * A card with {@code m} matches and {@code c} copies adds {@code c} copies to each of the {@code m} next cards.
+     * Those additions are kept in a difference array: {@code c} is added where the range starts and removed where it ends,
+     * so the running sum of the array is the number of copies won by the current card.
+     *
+     * @param matches   the number of matches of each card, in the order of the deck
+     * @param originals the number of copies each card has before any is won, by index
+     * @return the total number of cards at the end
+     */
+    static long copiesWin(int[] matches, IntToLongFunction originals) {
+        long[] differences = new long[matches.length + 1];
+        long won = 0;
+        long total = 0;
+        for (int i = 0; i < matches.length; i++) {
+            won += differences[i];
+            long copies = originals.applyAsLong(i) + won;
+            total += copies;
+            if (matches[i] > 0) {
+                differences[i + 1] += copies;
+                differences[(int) Math.min(matches.length, (long) i + 1 + matches[i])] -= copies;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Counts the cards won by a deck of cards with one copy each.
+     *
+     * @see #copiesWin(int[], IntToLongFunction)
+     */
+    static long copiesWin(int[] matches) {
+        return copiesWin(matches, _ -> 1);
+    }
+
+    /**
+     * Counter of the cards won by a deck read one card at a time, in constant memory.<br>
+     * A card only adds copies to the cards right after it, so only the copies pending for the next cards are kept,
+     * as a difference array in a ring one slot longer than the largest number of matches met so far.
+     * A counter is not thread-safe.
+     */
+    final class CopiesCounter {
+
+        private long[] differences = new long[16];
+        private int position;
+        private long won;
+        private long cards;
+        private long total;
+
+        /**
+         * Adds the next card of the deck.
+         *
+         * @param line the card, like {@code Card 1: 41 48 83 | 83 86 6}
+         * @return the number of cards so far, copies included
+         */
+        public long accept(String line) {
+            return accept(Card.parseFromStr(line).matches());
         }
 
-        void copyCard(int cardNumber, int nTimes) {
-            if (cardNumber < cards.size()) {
-                cards.set(cardNumber, cards.get(cardNumber).duplicate(nTimes));
+        /**
+         * Adds the next card of the deck from its number of matches.
+         *
+         * @param matches the number of matches of the card
+         * @return the number of cards so far, copies included
+         */
+        public long accept(int matches) {
+            if (matches + 2 > differences.length) {
+                grow(matches + 2);
+            }
+            won += differences[position];
+            differences[position] = 0;
+            long copies = 1 + won;
+            total += copies;
+            cards++;
+            if (matches > 0) {
+                differences[slot(1)] += copies;
+                differences[slot(1 + matches)] -= copies;
             }
+            position = slot(1);
+            return total;
         }
 
+        private int slot(int ahead) {
+            return (position + ahead) % differences.length;
+        }
 
-        void copyCards(int from, int count, int nTimes) {
-            IntStream.rangeClosed(from, from + count - 1).forEach(i -> copyCard(i, nTimes));
+        private void grow(int length) {
+            long[] grown = new long[Math.max(length, differences.length * 2)];
+            for (int ahead = 0; ahead < differences.length; ahead++) {
+                grown[ahead] = differences[slot(ahead)];
+            }
+            differences = grown;
+            position = 0;
         }
 
+        /**
+         * Returns the number of cards so far, copies included.
+         */
+        public long total() {
+            return total;
+        }
 
-        long copiesWin() {
-            cards.forEach(card -> {
-                int numberOfMatches = (int) card.numberOfMatches();
-                if (numberOfMatches > 0) {
-                    copyCards(card.number(), numberOfMatches, card.copies());
+        /**
+         * Returns the number of cards read so far, without their copies.
+         */
+        public long cards() {
+            return cards;
+        }
+    }
+
+    /**
+     * Counts the cards won, reading the cards line by line.
+     * @param cards the reader of the cards, it is not closed
+     * @return the total number of cards at the end
+     */
+    static long copiesWin(BufferedReader cards) {
+        var counter = new CopiesCounter();
+        try {
+            String line;
+            while ((line = cards.readLine()) != null) {
+                if (!line.isBlank()) {
+                    counter.accept(line);
                 }
-            });
-            return cards.stream().mapToLong(Card::copies).sum();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return counter.total();
+    }
+
+    /**
+     * Counts the cards won, reading the cards line by line.
+     * @param cards the stream of the cards, it is not closed
+     * @return the total number of cards at the end
+     */
+    static long copiesWin(InputStream cards) {
+        return copiesWin(new BufferedReader(new InputStreamReader(cards, StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Counts the cards won by an ASCII file of cards read line by line, so it can be of any length.
+     * @param path the path of the cards
+     * @return the total number of cards at the end
+     */
+    static long copiesWin(Path path) {
+        try (var reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            return copiesWin(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        
     }
 
+    /**
+     * Counts the cards won by a mapped ASCII deck of cards, decoding one line at a time.
+     * @param cards the cards, one per line
+     * @return the total number of cards at the end
+     */
+    static long copiesWin(PuzzleInput cards) {
+        var counter = new CopiesCounter();
+        LineSolver feed = line -> {
+            counter.accept(line);
+            return 0;
+        };
+        feed.solve(cards);
+        return counter.total();
+    }
+
+    /**
+     * Counts the cards won by a deck of cards, keeping only the number of matches of each card rather than the cards,
+     * so decks of tens of millions of cards fit in the heap.
+     *
+     * @param input the cards, one per line
+     * @return the total number of cards at the end
+     */
+    static long copiesWin(String input) {
+        return copiesWin(input.lines()
+                .filter(line -> !line.isBlank())
+                .mapToInt(line -> Card.parseFromStr(line).matches())
+                .toArray());
+    }
 
 
     private static int[] parseNumbers(String[] strings) {
@@ -89,6 +318,25 @@ public interface Day4 {
         return numbers;
     }
 
+    /**
+     * Solver giving the score of a card line.
+     */
+    LineSolver scoreSolver = line -> Card.parseFromStr(line).score();
+
+    /**
+     * Sums the score of the cards, reading them line by line.
+     * @param cards the stream of the cards, it is not closed
+     * @return the score of all the cards
+     */
+    static long score(InputStream cards) {
+        return scoreSolver.solve(cards);
+    }
+
+    /**
+     * Parser of the game, used as the key of the parsed game in the {@link InputCache}.
+     */
+    Function<String, Game> gameProvider = Day4::parseGame;
+
     static Game parseGame(String input) {
         String[] lines = input.split("\n");
         List<Card> cards = new ArrayList<>();
@@ -120,9 +368,8 @@ public interface Day4 {
 
         @Override
         public Long test() {
-            var input = readFileOfResource("day4.txt");
-            Day4.Game game = Day4.parseGame(input);
-            return game.score();
+            PuzzleInput cards = AdventOfCode2023.inputOfResource("day4.txt");
+            return scoreSolver.solve(cards);
         }
     }
 
@@ -148,9 +395,8 @@ public interface Day4 {
 
         @Override
         public Long test() {
-            var input = readFileOfResource("day4.txt");
-            Day4.Game game = Day4.parseGame(input);
-            return game.copiesWin();
+            PuzzleInput cards = AdventOfCode2023.inputOfResource("day4.txt");
+            return copiesWin(cards);
         }
     }
 
@@ -1,15 +1,18 @@
 package com.github.nggalien.advent;
 
-import javax.sound.sampled.Line;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public interface Day5 {
@@ -170,24 +173,6 @@ public interface Day5 {
         return intervals.stream();
     }
 
-    static Stream<ShiftedInterval> shiftList(Stream<ShiftedInterval> inputs, ShiftedInterval shift) {
-        return inputs.flatMap(input -> shift.shiftIntersectCandidate(input).stream());
-    }
-
-    static Stream<Interval> shiftIntervals(ShiftedInterval source, List<ShiftedInterval> shifts) {
-        List<ShiftedInterval> result = new ArrayList<>();
-        List<ShiftedInterval> inputs = new ArrayList<>();
-        inputs.add(source);
-        for (ShiftedInterval shift : shifts) {
-            Map<Boolean, List<ShiftedInterval>> map = shiftList(inputs.stream(), shift)
-                    .collect(Collectors.partitioningBy(shiftedInterval -> shiftedInterval.shift == 0));
-            inputs = map.get(true);
-            result.addAll(map.get(false));
-        }
-        result.addAll(inputs);
-        return result.stream().map(ShiftedInterval::interval);
-    }
-
     static List<ShiftedInterval> fromLine(Stream<String> lines) {
         return lines
                 .filter(line -> !line.isBlank())
@@ -195,26 +180,431 @@ public interface Day5 {
                 .map(Day5::shiftedIntervalOf).toList();
     }
 
+    /**
+     * Section of the almanac compiled into a map of sorted and non-overlapping ranges.<br>
+     * Ranges are held in primitive arrays of starts, ends (inclusive) and shifts, so mapping an interval is a binary search
+     * for the first range it touches, then a sweep over the next ones, values out of any range being kept as they are.
+     * When rules overlap, the first one in the section wins, like when they are applied one after the other.
+     */
+    final class RangeMap {
+
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] shifts;
+
+        private RangeMap(long[] starts, long[] ends, long[] shifts) {
+            this.starts = starts;
+            this.ends = ends;
+            this.shifts = shifts;
+        }
+
+        /**
+         * Compiles the rules of a section.
+         *
+         * @param rules the rules, in the order of the section
+         * @return the range map
+         */
+        static RangeMap of(List<ShiftedInterval> rules) {
+            TreeMap<Long, long[]> ranges = new TreeMap<>();
+            for (ShiftedInterval rule : rules) {
+                long cursor = rule.interval().start();
+                long end = rule.interval().end();
+                var floor = ranges.floorEntry(cursor);
+                if (floor != null && floor.getValue()[0] >= cursor) {
+                    cursor = floor.getValue()[0] + 1;
+                }
+                if (cursor > end) {
+                    continue;
+                }
+                for (var covered : List.copyOf(ranges.subMap(cursor, true, end, true).entrySet())) {
+                    if (covered.getKey() > cursor) {
+                        ranges.put(cursor, new long[]{covered.getKey() - 1, rule.shift()});
+                    }
+                    cursor = covered.getValue()[0] + 1;
+                }
+                if (cursor <= end) {
+                    ranges.put(cursor, new long[]{end, rule.shift()});
+                }
+            }
+            long[] starts = new long[ranges.size()];
+            long[] ends = new long[ranges.size()];
+            long[] shifts = new long[ranges.size()];
+            int i = 0;
+            for (var range : ranges.entrySet()) {
+                starts[i] = range.getKey();
+                ends[i] = range.getValue()[0];
+                shifts[i++] = range.getValue()[1];
+            }
+            return new RangeMap(starts, ends, shifts);
+        }
+
+        /**
+         * Compiles a section of the almanac, its title line being skipped.
+         */
+        static RangeMap parse(String section) {
+            return of(fromLine(section.lines()));
+        }
+
+        /**
+         * Returns the number of ranges of the map.
+         */
+        int size() {
+            return starts.length;
+        }
+
+        /**
+         * Maps a single value.
+         */
+        long map(long value) {
+            int range = firstEndingAtOrAfter(value);
+            return range < starts.length && starts[range] <= value ? value + shifts[range] : value;
+        }
+
+        private int firstEndingAtOrAfter(long value) {
+            int low = 0;
+            int high = ends.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ends[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Maps intervals, cutting each one at the bounds of the ranges it crosses.
+         *
+         * @param input  the intervals to map
+         * @param output the buffer the mapped intervals are added to
+         */
+        void map(IntervalBuffer input, IntervalBuffer output) {
+            for (int i = 0; i < input.size(); i++) {
+                forEachPiece(input.start(i), input.end(i), (start, end, shift) -> output.add(start + shift, end + shift));
+            }
+        }
+
+        /**
+         * Returns the smallest value the intervals are mapped to, without building the mapped intervals.<br>
+         * The smallest value of a piece is its start, shifted, so a single sweep over the ranges is enough.
+         *
+         * @param input the intervals to map
+         * @return the smallest mapped value
+         * @throws NoSuchElementException if there is no interval
+         */
+        long minOf(IntervalBuffer input) {
+            if (input.size() == 0) {
+                throw new NoSuchElementException("No interval");
+            }
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < input.size(); i++) {
+                min = Math.min(min, minOf(input.start(i), input.end(i)));
+            }
+            return min;
+        }
+
+        /**
+         * Returns the smallest value an interval is mapped to.
+         */
+        long minOf(long start, long end) {
+            long[] min = {Long.MAX_VALUE};
+            forEachPiece(start, end, (pieceStart, _, shift) -> min[0] = Math.min(min[0], pieceStart + shift));
+            return min[0];
+        }
+
+        /**
+         * Composes this map with the one of the next section into a single map.<br>
+         * Values out of any range are kept as they are, so each map is total: the ranges of this map and the gaps
+         * between them are cut at the bounds of the next map, each piece shifted by the sum of both shifts.
+         * Adjacent pieces with the same shift are merged and unshifted ones are left out, as gaps.
+         * Values are expected to be non-negative, as in an almanac.
+         *
+         * @param next the map applied after this one
+         * @return the map giving the same values as this map then the next one
+         */
+        RangeMap andThen(RangeMap next) {
+            var composed = new RangeMap.Builder();
+            forEachPiece(0, Long.MAX_VALUE, (start, end, shift) ->
+                    next.forEachPiece(start + shift, end + shift, (nextStart, nextEnd, nextShift) ->
+                            composed.add(nextStart - shift, nextEnd - shift, shift + nextShift)));
+            return composed.build();
+        }
+
+        /**
+         * Cuts an interval at the bounds of the ranges it crosses, gaps between ranges being pieces with no shift.
+         */
+        private void forEachPiece(long start, long end, PieceConsumer consumer) {
+            long cursor = start;
+            int range = firstEndingAtOrAfter(cursor);
+            while (true) {
+                long pieceEnd;
+                long shift = 0;
+                if (range < starts.length && starts[range] <= cursor) {
+                    pieceEnd = Math.min(end, ends[range]);
+                    shift = shifts[range++];
+                } else if (range < starts.length && starts[range] <= end) {
+                    pieceEnd = starts[range] - 1;
+                } else {
+                    pieceEnd = end;
+                }
+                consumer.accept(cursor, pieceEnd, shift);
+                if (pieceEnd >= end) {
+                    return;
+                }
+                cursor = pieceEnd + 1;
+            }
+        }
+
+        private interface PieceConsumer {
+            void accept(long start, long end, long shift);
+        }
+
+        /**
+         * Collects sorted pieces, merging the adjacent ones with the same shift.
+         */
+        private static final class Builder {
+            private final IntervalBuffer ranges = new IntervalBuffer();
+            private long[] shifts = new long[16];
+
+            void add(long start, long end, long shift) {
+                if (shift == 0) {
+                    return;
+                }
+                int last = ranges.size() - 1;
+                if (last >= 0 && shifts[last] == shift && ranges.end(last) == start - 1) {
+                    ranges.setEnd(last, end);
+                    return;
+                }
+                if (ranges.size() == shifts.length) {
+                    shifts = Arrays.copyOf(shifts, shifts.length * 2);
+                }
+                shifts[ranges.size()] = shift;
+                ranges.add(start, end);
+            }
+
+            RangeMap build() {
+                int size = ranges.size();
+                long[] starts = new long[size];
+                long[] ends = new long[size];
+                for (int i = 0; i < size; i++) {
+                    starts[i] = ranges.start(i);
+                    ends[i] = ranges.end(i);
+                }
+                return new RangeMap(starts, ends, Arrays.copyOf(shifts, size));
+            }
+        }
+    }
+
+    /**
+     * Growable list of intervals kept as pairs of start and end (inclusive) in a single {@code long[]},
+     * reused from one section to the next. A buffer is not thread-safe.
+     */
+    final class IntervalBuffer {
+
+        private long[] bounds;
+        private int size;
+
+        IntervalBuffer() {
+            this(16);
+        }
+
+        IntervalBuffer(int capacity) {
+            bounds = new long[2 * Math.max(1, capacity)];
+        }
+
+        void add(long start, long end) {
+            if (2 * size == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[2 * size] = start;
+            bounds[2 * size + 1] = end;
+            size++;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long start(int i) {
+            return bounds[2 * i];
+        }
+
+        long end(int i) {
+            return bounds[2 * i + 1];
+        }
+
+        void setEnd(int i, long end) {
+            bounds[2 * i + 1] = end;
+        }
+
+        /**
+         * Returns the smallest start of the intervals.
+         */
+        long minStart() {
+            if (size == 0) {
+                throw new NoSuchElementException("No interval");
+            }
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, bounds[2 * i]);
+            }
+            return min;
+        }
+    }
+
     Function<String, Stream<Interval>> lineToSingleIntervalProvider = (line) -> lineToSingleIntervals(line.split(":")[1].strip());
 
     Function<String, Stream<Interval>> lineToIntervalsProvider = (line) -> lineToIntervals(line.split(":")[1].strip());
 
-    static long findMinIntervals(String input, Function<String, Stream<Interval>> lineToInterval) {
+    /**
+     * Parses the sections of an almanac once and composes them into a single map from seed to location.
+     *
+     * @param input the almanac, its first section, the seeds, being skipped
+     * @return the map of all the sections
+     */
+    static RangeMap compile(String input) {
         String[] sections = input.split("\n\n");
-        List<Interval> result = new ArrayList<>();
-        List<Interval> intervals = lineToInterval.apply(sections[0]).toList();
-        for (Interval interval : intervals) {
-            List<Interval> inputIntervals = Collections.singletonList(interval);
-            for (int i = 1; i < sections.length; i++) {
-                List<ShiftedInterval> shifts = fromLine(sections[i].lines());
-                inputIntervals = inputIntervals.stream()
-                        .flatMap(inputInterval -> shiftIntervals(ShiftedInterval.of(inputInterval, 0), shifts))
-                        .toList();
+        RangeMap composed = RangeMap.of(List.of());
+        for (int i = 1; i < sections.length; i++) {
+            composed = composed.andThen(RangeMap.parse(sections[i]));
+        }
+        return composed;
+    }
+
+    /**
+     * Finds the smallest location of the seeds, in a single pass over the {@link #compile(String) composed} map.
+     */
+    static long findMinIntervals(String input, Function<String, Stream<Interval>> lineToInterval) {
+        return Almanac.parse(input).minLocation(lineToInterval.apply(input.split("\n\n")[0]).toList());
+    }
+
+    /**
+     * Finds the smallest location of the seeds, the seed ranges being shared out on the common fork-join pool.
+     */
+    static long findMinIntervalsInParallel(String input, Function<String, Stream<Interval>> lineToInterval) {
+        return Almanac.parse(input).minLocationInParallel(lineToInterval.apply(input.split("\n\n")[0]).toList());
+    }
+
+    /**
+     * Almanac compiled once into a single map from seed to location, to answer many queries.<br>
+     * It is immutable: the arrays of its map are filled before it is built and never written again,
+     * and each query works on its own buffers, so an almanac can be shared by any number of threads.
+     */
+    final class Almanac {
+
+        private final RangeMap seedToLocation;
+
+        private Almanac(RangeMap seedToLocation) {
+            this.seedToLocation = seedToLocation;
+        }
+
+        /**
+         * Parses and compiles an almanac, its seeds being ignored.
+         */
+        static Almanac parse(String input) {
+            return new Almanac(compile(input));
+        }
+
+        /**
+         * Returns the location of a seed.
+         */
+        long location(long seed) {
+            return seedToLocation.map(seed);
+        }
+
+        /**
+         * Returns the locations of a range of seeds, as the intervals it is cut into.
+         */
+        List<Interval> locations(Interval seeds) {
+            var input = new IntervalBuffer(1);
+            input.add(seeds.start(), seeds.end());
+            var output = new IntervalBuffer();
+            seedToLocation.map(input, output);
+            List<Interval> locations = new ArrayList<>(output.size());
+            for (int i = 0; i < output.size(); i++) {
+                locations.add(Interval.of(output.start(i), output.end(i)));
+            }
+            return locations;
+        }
+
+        /**
+         * Returns the smallest location of ranges of seeds.
+         *
+         * @throws NoSuchElementException   if there is no seed
+         * @throws IllegalArgumentException if a range ends before it starts
+         */
+        long minLocation(Collection<Interval> seeds) {
+            return seedToLocation.minOf(buffer(seeds));
+        }
+
+        /**
+         * Returns the smallest location of ranges of seeds, the seeds being shared out by span on the common fork-join pool.
+         *
+         * @throws NoSuchElementException   if there is no seed
+         * @throws IllegalArgumentException if a range ends before it starts
+         * @see SeedRangeTask
+         */
+        long minLocationInParallel(Collection<Interval> seeds) {
+            if (seeds.isEmpty()) {
+                throw new NoSuchElementException("No interval");
+            }
+            return SeedRangeTask.minOf(seedToLocation, buffer(seeds), ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Copies seed ranges in a buffer.
+         *
+         * @throws IllegalArgumentException if a range ends before it starts
+         */
+        private static IntervalBuffer buffer(Collection<Interval> seeds) {
+            var input = new IntervalBuffer(seeds.size());
+            for (Interval interval : seeds) {
+                if (interval.end() < interval.start()) {
+                    throw new IllegalArgumentException(STR."Seed range \{interval} ends before it starts");
+                }
+                input.add(interval.start(), interval.end());
             }
-            result.addAll(inputIntervals.stream().distinct().toList());
+            return input;
+        }
+    }
+
+    /**
+     * Answers the queries on an almanac, each one on its own virtual thread.<br>
+     * Queries are short and only read the shared {@link Almanac}, so they run concurrently without lock
+     * on the carrier threads of the virtual threads, as many as there are cores.
+     * Closing the service waits for the pending queries.
+     */
+    final class AlmanacService implements AutoCloseable {
+
+        private final Almanac almanac;
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        AlmanacService(Almanac almanac) {
+            this.almanac = almanac;
+        }
+
+        CompletableFuture<Long> location(long seed) {
+            return CompletableFuture.supplyAsync(() -> almanac.location(seed), executor);
+        }
+
+        CompletableFuture<List<Interval>> locations(Interval seeds) {
+            return CompletableFuture.supplyAsync(() -> almanac.locations(seeds), executor);
+        }
+
+        CompletableFuture<Long> minLocation(Collection<Interval> seeds) {
+            return CompletableFuture.supplyAsync(() -> almanac.minLocation(seeds), executor);
         }
 
-        return result.stream().mapToLong(interval -> interval.start).min().orElseThrow();
+        @Override
+        public void close() {
+            executor.close();
+        }
     }
 
     record Part1() implements Day5, AdventOfCode2023.SolutionOfDay<Long> {
@@ -244,13 +244,13 @@ public interface Day7 {
 
         @Override
         public Long rightAnswer() {
-            var input = readFileOfResource("day7.txt");
-            return Day7.totalWiningPart(input, part());
+            return 250057090L;
         }
 
         @Override
         public Long test() {
-            return 250057090L;
+            var input = readFileOfResource("day7.txt");
+            return Day7.totalWiningPart(input, part());
         }
     }
 
@@ -1,11 +1,13 @@
 package com.github.nggalien.advent;
 
+import java.io.InputStream;
+import java.lang.foreign.MemorySegment;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 
-import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
+import static com.github.nggalien.advent.AdventOfCode2023.inputOfResource;
 
 public interface Day9 {
 
@@ -48,16 +50,53 @@ public interface Day9 {
         return first;
     }
 
+    static long solveLine(String line, Function<List<long[]>, Long> addFunction) {
+        var numbers = DayUtils.parseLongArray(line);
+        var expanded = expandDiff(numbers);
+        return addFunction.apply(expanded);
+    }
+
     static long solve(String input, Function<List<long[]>, Long> addFunction) {
         var lines = input.lines().toList();
-        var addedNumbers = lines.stream().mapToLong(line -> {
-            var numbers = DayUtils.parseLongArray(line);
-            var expanded = expandDiff(numbers);
-            return addFunction.apply(expanded);
-        });
+        var addedNumbers = lines.stream().mapToLong(line -> solveLine(line, addFunction));
         return addedNumbers.sum();
     }
 
+    /**
+     * Returns a solver extrapolating the history of a line with the given function.
+     */
+    static LineSolver solver(Function<List<long[]>, Long> addFunction) {
+        return line -> solveLine(line, addFunction);
+    }
+
+    /**
+     * Solves a mapped report, finding the lines and the numbers of each line with the {@link ByteClassifier}
+     * and parsing the numbers straight from the bytes, without decoding the lines.
+     */
+    static long solve(PuzzleInput input, Function<List<long[]>, Long> addFunction) {
+        var classifier = ByteClassifier.INSTANCE;
+        var bytes = MemorySegment.ofBuffer(input.bytes());
+        int length = input.length();
+        long sum = 0;
+        int start = 0;
+        while (start < length) {
+            int end = classifier.indexOf(ByteClassifier.ByteClass.NEW_LINE, bytes, start, length);
+            long[] numbers = DayUtils.parseLongArray(bytes, start, end);
+            if (numbers.length > 0) {
+                sum += addFunction.apply(expandDiff(numbers));
+            }
+            start = end + 1;
+        }
+        return sum;
+    }
+
+    /**
+     * Solves the report reading it line by line, so only one history is held in memory at a time.
+     */
+    static long solve(InputStream input, Function<List<long[]>, Long> addFunction) {
+        return solver(addFunction).solve(input);
+    }
+
     record Part1() implements Day9, AdventOfCode2023.SolutionOfDay<Long> {
 
         @Override
@@ -77,7 +116,7 @@ public interface Day9 {
 
         @Override
         public Long test() {
-            var input = readFileOfResource("day9.txt");
+            var input = inputOfResource("day9.txt");
             return solve(input, Day9::addLastNumber);
         }
     }
@@ -101,7 +140,7 @@ public interface Day9 {
 
         @Override
         public Long test() {
-            var input = readFileOfResource("day9.txt");
+            var input = inputOfResource("day9.txt");
             return solve(input, Day9::addFirstNumber);
         }
     }
@@ -1,5 +1,10 @@
 package com.github.nggalien.advent;
 
+import com.github.nggalien.advent.ByteClassifier.ByteClass;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -11,11 +16,93 @@ public interface DayUtils {
     Pattern BLANK_SPACE = Pattern.compile("\\s+");
 
     static LongStream parseLongStream(String numbersSeparatedByBlankSpace) {
-        return BLANK_SPACE.splitAsStream(numbersSeparatedByBlankSpace.trim()).mapToLong(Long::parseLong);
+        return LongStream.of(parseLongArray(numbersSeparatedByBlankSpace));
     }
 
+    /**
+     * Parses the numbers of a line in a single pass over its chars, parsing each one in place,
+     * without splitting the line in strings nor copying it.
+     */
     static long[] parseLongArray(String numbersSeparatedByBlankSpace) {
-        return parseLongStream(numbersSeparatedByBlankSpace).toArray();
+        var line = numbersSeparatedByBlankSpace;
+        int length = line.length();
+        long[] values = new long[8];
+        int count = 0;
+        int start = 0;
+        while (true) {
+            while (start < length && line.charAt(start) <= ' ') {
+                start++;
+            }
+            if (start == length) {
+                return Arrays.copyOf(values, count);
+            }
+            int end = start + 1;
+            while (end < length && line.charAt(end) > ' ') {
+                end++;
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = Long.parseLong(line, start, end, 10);
+            start = end;
+        }
+    }
+
+    /**
+     * Parses the numbers of a range of ASCII bytes, finding their boundaries with the {@link ByteClassifier},
+     * a register at a time when vectorised, and reading their digits in place.
+     *
+     * @param bytes the input
+     * @param from  the index of the first byte of the range
+     * @param to    the index after the last byte of the range
+     * @return the numbers of the range
+     * @throws NumberFormatException if a word of the range is not a number
+     */
+    static long[] parseLongArray(MemorySegment bytes, int from, int to) {
+        var classifier = ByteClassifier.INSTANCE;
+        long[] values = new long[8];
+        int count = 0;
+        int start = classifier.indexOfNot(ByteClass.BLANK, bytes, from, to);
+        while (start < to) {
+            int end = classifier.indexOf(ByteClass.BLANK, bytes, start, to);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = parseLong(bytes, start, end);
+            start = classifier.indexOfNot(ByteClass.BLANK, bytes, end, to);
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Parses a number the way {@link Long#parseLong(String)} does, accumulating it negatively
+     * so {@link Long#MIN_VALUE} can be read, and checking each step against the limit of its sign.
+     */
+    private static long parseLong(MemorySegment bytes, int start, int end) {
+        byte sign = bytes.get(ValueLayout.JAVA_BYTE, start);
+        boolean negative = sign == '-';
+        int i = negative || sign == '+' ? start + 1 : start;
+        if (i == end) {
+            throw new NumberFormatException(STR."No digit at \{start}");
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / 10;
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes.get(ValueLayout.JAVA_BYTE, i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(STR."Invalid digit at \{i}");
+            }
+            if (value < multmin) {
+                throw new NumberFormatException(STR."Number at \{start} is out of range");
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                throw new NumberFormatException(STR."Number at \{start} is out of range");
+            }
+            value -= digit;
+        }
+        return negative ? value : -value;
     }
 
     static long convertBinary(String s, Predicate<Character> binaryTest) {
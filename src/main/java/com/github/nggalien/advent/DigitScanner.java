@@ -0,0 +1,202 @@
+package com.github.nggalien.advent;
+
+import com.github.nggalien.advent.ByteClassifier.ByteClass;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton finding the first and the last digit of a line, written with a digit or spelled out.<br>
+ * The trie of the words is built once and its failure links are folded into a full transition table over
+ * the lower case letters, so a line is read in a single forward pass, one table lookup per char, without allocation.
+ * Words may overlap, as in {@code eightwo} which holds both 8 and 2.
+ */
+public final class DigitScanner {
+
+    private static final int LETTERS = 26;
+    private static final int NO_DIGIT = -1;
+
+    private final int[] transitions;
+    private final int[] digits;
+
+    private DigitScanner(int[] transitions, int[] digits) {
+        this.transitions = transitions;
+        this.digits = digits;
+    }
+
+    /**
+     * Builds the automaton of spelled out digits.
+     *
+     * @param words the lower case words and the digit they stand for
+     * @return the scanner
+     */
+    public static DigitScanner of(Map<String, Integer> words) {
+        int maxStates = 1 + words.keySet().stream().mapToInt(String::length).sum();
+        int[] transitions = new int[maxStates * LETTERS];
+        int[] digits = new int[maxStates];
+        Arrays.fill(transitions, NO_DIGIT);
+        Arrays.fill(digits, NO_DIGIT);
+
+        int states = 1;
+        for (var word : words.entrySet()) {
+            int state = 0;
+            for (char c : word.getKey().toCharArray()) {
+                int index = state * LETTERS + letter(c);
+                if (transitions[index] == NO_DIGIT) {
+                    transitions[index] = states++;
+                }
+                state = transitions[index];
+            }
+            digits[state] = word.getValue();
+        }
+
+        int[] fail = new int[states];
+        var queue = new ArrayDeque<Integer>();
+        for (int c = 0; c < LETTERS; c++) {
+            int next = transitions[c];
+            if (next == NO_DIGIT) {
+                transitions[c] = 0;
+            } else {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (digits[state] == NO_DIGIT) {
+                digits[state] = digits[fail[state]];
+            }
+            for (int c = 0; c < LETTERS; c++) {
+                int index = state * LETTERS + c;
+                int fallback = transitions[fail[state] * LETTERS + c];
+                if (transitions[index] == NO_DIGIT) {
+                    transitions[index] = fallback;
+                } else {
+                    fail[transitions[index]] = fallback;
+                    queue.add(transitions[index]);
+                }
+            }
+        }
+        return new DigitScanner(Arrays.copyOf(transitions, states * LETTERS), Arrays.copyOf(digits, states));
+    }
+
+    private static int letter(char c) {
+        if (c < 'a' || c > 'z') {
+            throw new IllegalArgumentException(STR."Invalid char \{c} in a digit word");
+        }
+        return c - 'a';
+    }
+
+    /**
+     * Scans a whole ASCII input and sums the calibration values of its lines, without allocation per line.<br>
+     * Line ends and numeric digits are found by the {@link ByteClassifier}, a register at a time when vectorised.
+     * The automaton only reads the start of a line, up to its first digit, then the end of the line,
+     * after its last numeric digit, since no word in between can be the first or the last digit.
+     * Bytes are read with absolute gets, so the position of the buffer is left untouched.
+     *
+     * @param bytes the input
+     * @param start the index of the first byte of the range to scan
+     * @param end   the index after the last byte of the range, a line ends there or at a new line
+     * @return the sum of the calibration values of the lines
+     */
+    public long sumOfCalibrationValues(ByteBuffer bytes, int start, int end) {
+        MemorySegment segment = MemorySegment.ofBuffer(bytes);
+        ByteClassifier classifier = ByteClassifier.INSTANCE;
+        long sum = 0;
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = classifier.indexOf(ByteClass.NEW_LINE, segment, lineStart, end);
+            sum += calibrationValue(classifier, segment, lineStart, lineEnd);
+            lineStart = lineEnd + 1;
+        }
+        return sum;
+    }
+
+    private int calibrationValue(ByteClassifier classifier, MemorySegment line, int start, int end) {
+        int firstNumber = classifier.indexOf(ByteClass.DIGIT, line, start, end);
+        int first = NO_DIGIT;
+        int state = 0;
+        int i = start;
+        for (; i < firstNumber; i++) {
+            state = next(state, line.get(ValueLayout.JAVA_BYTE, i));
+            if (digits[state] != NO_DIGIT) {
+                first = digits[state];
+                break;
+            }
+        }
+        if (first == NO_DIGIT) {
+            if (firstNumber == end) {
+                return 0;
+            }
+            first = line.get(ValueLayout.JAVA_BYTE, firstNumber) - '0';
+            i = firstNumber;
+            state = 0;
+        }
+        int last = first;
+        int lastNumber = classifier.lastIndexOf(ByteClass.DIGIT, line, i + 1, end);
+        if (lastNumber > i) {
+            last = line.get(ValueLayout.JAVA_BYTE, lastNumber) - '0';
+            i = lastNumber;
+            state = 0;
+        }
+        for (i++; i < end; i++) {
+            state = next(state, line.get(ValueLayout.JAVA_BYTE, i));
+            if (digits[state] != NO_DIGIT) {
+                last = digits[state];
+            }
+        }
+        return first * 10 + last;
+    }
+
+    /**
+     * Moves the automaton on a byte that is not a digit, any byte but a letter breaks the words.
+     */
+    private int next(int state, byte c) {
+        return c >= 'a' && c <= 'z' ? transitions[state * LETTERS + c - 'a'] : 0;
+    }
+
+    /**
+     * Scans an ASCII input held in an array.
+     *
+     * @see #sumOfCalibrationValues(ByteBuffer, int, int)
+     */
+    public long sumOfCalibrationValues(byte[] bytes) {
+        return sumOfCalibrationValues(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Scans a line and combines its first and last digits in a two-digit number.
+     *
+     * @param line the line to scan
+     * @return the first digit times ten plus the last digit, 0 if the line has no digit
+     */
+    public int calibrationValue(CharSequence line) {
+        int first = NO_DIGIT;
+        int last = NO_DIGIT;
+        int state = 0;
+        for (int i = 0, length = line.length(); i < length; i++) {
+            char c = line.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+                state = 0;
+            } else if (c >= 'a' && c <= 'z') {
+                state = transitions[state * LETTERS + c - 'a'];
+                digit = digits[state];
+            } else {
+                state = 0;
+                continue;
+            }
+            if (digit != NO_DIGIT) {
+                if (first == NO_DIGIT) {
+                    first = digit;
+                }
+                last = digit;
+            }
+        }
+        return first == NO_DIGIT ? 0 : first * 10 + last;
+    }
+}
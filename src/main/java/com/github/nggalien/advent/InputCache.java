@@ -0,0 +1,193 @@
+package com.github.nggalien.advent;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of puzzle inputs and of their parsed forms, keyed by resource name.<br>
+ * Each entry holds the raw input, its text and the results of the parsers applied to it,
+ * so the second part of a day reuses what the first part built.
+ * The text is only decoded when it is asked for, so solvers scanning the raw {@link #input(String) input}
+ * never hold the input twice in memory.
+ * Entries are weighed by the bytes of their raw input, plus the bytes of their text once decoded, and each parsed
+ * form is counted as one more copy of the text, as its real size is not known. The least recently used entries
+ * are evicted once the total weight goes over the bound.
+ * <p>
+ * Inputs are loaded and parsed outside any lock: a second caller of the same resource waits for the first load,
+ * while other resources are served meanwhile. The lock is only held to update the weights and the recency order.
+ * </p>
+ * <p>
+ * Parsed forms are keyed by the parser itself, so parsers must be constants,
+ * like {@link Day4#gameProvider}, and their results must not be mutated.
+ * </p>
+ */
+final class InputCache {
+
+    /**
+     * Default bound of the shared cache, can be overridden with the {@code advent.input-cache.max-bytes} property.
+     */
+    static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private static final InputCache SHARED = new InputCache(Long.getLong("advent.input-cache.max-bytes", DEFAULT_MAX_BYTES));
+
+    private static final class Entry {
+
+        private final PuzzleInput raw;
+        private final Map<Function<String, ?>, Object> parsed = new ConcurrentHashMap<>();
+        private volatile String text;
+
+        private Entry(PuzzleInput raw) {
+            this.raw = raw;
+        }
+
+        static Entry load(String resourceName) {
+            return new Entry(PuzzleInput.ofResource(resourceName));
+        }
+
+        /**
+         * Weight of the entry when it is loaded, before its text is decoded.
+         */
+        long weight() {
+            return raw.length();
+        }
+
+        /**
+         * Weight added by the text, a Latin-1 string of a byte per char, and by each parsed form.
+         */
+        long textWeight() {
+            return raw.length();
+        }
+    }
+
+    private final long maxBytes;
+    private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Long> weights = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    InputCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache bound must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cache shared by all the days.
+     */
+    static InputCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the text of a resource, loading it on first access.
+     *
+     * @param resourceName the name of the resource
+     * @return the text of the resource
+     */
+    String text(String resourceName) {
+        return textOf(resourceName, entry(resourceName));
+    }
+
+    /**
+     * Returns the raw input of a resource, loading it on first access, without decoding its text.
+     *
+     * @param resourceName the name of the resource
+     * @return the mapped or direct bytes of the resource
+     */
+    PuzzleInput input(String resourceName) {
+        return entry(resourceName).raw;
+    }
+
+    private String textOf(String resourceName, Entry entry) {
+        String text = entry.text;
+        if (text != null) {
+            return text;
+        }
+        synchronized (entry) {
+            if (entry.text != null) {
+                return entry.text;
+            }
+            text = entry.raw.toString();
+            entry.text = text;
+        }
+        weigh(resourceName, entry.textWeight());
+        return text;
+    }
+
+    /**
+     * Returns the result of the parser applied to a resource, parsing it only once while the entry is cached.
+     *
+     * @param resourceName the name of the resource
+     * @param parser       the parser, used as the key of its result
+     * @return the parsed resource
+     */
+    @SuppressWarnings("unchecked")
+    <T> T parsed(String resourceName, Function<String, T> parser) {
+        Entry entry = entry(resourceName);
+        boolean[] added = {false};
+        String text = textOf(resourceName, entry);
+        T result = (T) entry.parsed.computeIfAbsent(parser, _ -> {
+            added[0] = true;
+            return parser.apply(text);
+        });
+        if (added[0]) {
+            weigh(resourceName, entry.textWeight());
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the resource is currently cached.
+     */
+    boolean contains(String resourceName) {
+        return entries.containsKey(resourceName);
+    }
+
+    private Entry entry(String resourceName) {
+        var loading = new CompletableFuture<Entry>();
+        var existing = entries.putIfAbsent(resourceName, loading);
+        if (existing != null) {
+            Entry entry = existing.join();
+            touch(resourceName);
+            return entry;
+        }
+        Entry entry;
+        try {
+            entry = Entry.load(resourceName);
+        } catch (RuntimeException e) {
+            entries.remove(resourceName, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        loading.complete(entry);
+        weigh(resourceName, entry.weight());
+        return entry;
+    }
+
+    private synchronized void touch(String resourceName) {
+        weights.get(resourceName);
+    }
+
+    /**
+     * Adds weight to a cached resource, then evicts the least recently used entries until the cache fits its bound,
+     * always keeping the most recent one.
+     */
+    private synchronized void weigh(String resourceName, long weight) {
+        if (!entries.containsKey(resourceName)) {
+            return;
+        }
+        weights.merge(resourceName, weight, Long::sum);
+        totalBytes += weight;
+        Iterator<Map.Entry<String, Long>> eldest = weights.entrySet().iterator();
+        while (totalBytes > maxBytes && weights.size() > 1) {
+            var evicted = eldest.next();
+            totalBytes -= evicted.getValue();
+            entries.remove(evicted.getKey());
+            eldest.remove();
+        }
+    }
+}
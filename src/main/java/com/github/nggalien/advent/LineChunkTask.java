@@ -0,0 +1,136 @@
+package com.github.nggalien.advent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task summing the values of the lines in a range of bytes of an input.<br>
+ * Ranges are split in two at the first line end after their middle, so a line is never cut,
+ * until they are small enough to be solved by a single task with its own running sum.
+ * Sums of the halves are then added, which gives the same result as a sequential sum whatever the split.
+ * <p>
+ * Lines end at {@code \n}, {@code \r} or {@code \r\n}, like the lines of {@link String#lines()} and
+ * {@link java.io.BufferedReader#readLine()}. A {@code \r\n} is read as a line end followed by an empty line,
+ * which is skipped as every blank line, so a split between its two bytes does not change the sum either.
+ * </p>
+ */
+final class LineChunkTask extends RecursiveTask<Long> {
+
+    /**
+     * Size under which a range is solved sequentially.
+     */
+    static final int MIN_CHUNK = 64 * 1024;
+
+    /**
+     * Size of the windows a file is mapped in, a single mapping being limited to 2 GB.
+     */
+    static final int MAX_WINDOW = 1 << 30;
+
+    private final LineSolver solver;
+    private final ByteBuffer bytes;
+    private final int start;
+    private final int end;
+
+    LineChunkTask(LineSolver solver, ByteBuffer bytes, int start, int end) {
+        this.solver = solver;
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Solves an ASCII file in parallel, mapping it one window after the other so files of any size can be solved.<br>
+     * Each window ends after its last line end, the cut line being read again at the start of the next window.
+     *
+     * @param solver the solver of a line
+     * @param path   the path of the file
+     * @param window the largest number of bytes mapped at once
+     * @return the sum of the values of the lines
+     * @throws IllegalStateException if a line does not fit in a window
+     */
+    static long solveInWindows(LineSolver solver, Path path, int window) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long sum = 0;
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(window, size - position);
+                ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+                if (position + length < size) {
+                    end = lastNewLine(bytes, end) + 1;
+                    if (end == 0) {
+                        throw new IllegalStateException(STR."Line at byte \{position} is longer than a window of \{window} bytes");
+                    }
+                }
+                sum += ForkJoinPool.commonPool().invoke(new LineChunkTask(solver, bytes, 0, end));
+                position += end;
+            }
+            return sum;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int lastNewLine(ByteBuffer bytes, int end) {
+        int i = end - 1;
+        while (i >= 0 && !isLineEnd(bytes.get(i))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static boolean isLineEnd(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    @Override
+    protected Long compute() {
+        if (end - start <= MIN_CHUNK) {
+            return solveRange();
+        }
+        int middle = start + (end - start) / 2;
+        while (middle < end && !isLineEnd(bytes.get(middle - 1))) {
+            middle++;
+        }
+        if (middle >= end) {
+            return solveRange();
+        }
+        var first = new LineChunkTask(solver, bytes, start, middle);
+        first.fork();
+        long second = new LineChunkTask(solver, bytes, middle, end).compute();
+        return first.join() + second;
+    }
+
+    /**
+     * Solves the lines of the range one after the other, copying each line in a reused buffer.
+     */
+    long solveRange() {
+        long sum = 0;
+        byte[] line = new byte[256];
+        int lineStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && !isLineEnd(bytes.get(i))) {
+                continue;
+            }
+            int length = i - lineStart;
+            if (length > line.length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            bytes.get(lineStart, line, 0, length);
+            String text = new String(line, 0, length, StandardCharsets.ISO_8859_1);
+            if (!text.isBlank()) {
+                sum += solver.solveLine(text);
+            }
+            lineStart = i + 1;
+        }
+        return sum;
+    }
+}
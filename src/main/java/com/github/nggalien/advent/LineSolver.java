@@ -0,0 +1,118 @@
+package com.github.nggalien.advent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solver of a puzzle whose lines are independent: the answer is the sum of the value of each line.<br>
+ * Streams and files are read one line at a time and only the running sum is kept,
+ * so inputs can be far larger than the heap. Mapped inputs can also be split at line boundaries
+ * and solved on a fork-join pool, as the value of a line does not depend on the others.
+ * On every path, lines end at {@code \n}, {@code \r} or {@code \r\n} and blank lines are skipped,
+ * so a solver gets the same lines, and gives the same sum, whichever way its input is read.
+ */
+@FunctionalInterface
+public interface LineSolver {
+
+    /**
+     * Solves a single line of the input.
+     *
+     * @param line the line, without its line terminator
+     * @return the value of the line
+     */
+    long solveLine(String line);
+
+    /**
+     * Solves an input held in memory.
+     */
+    default long solve(String input) {
+        return input.lines()
+                .filter(line -> !line.isBlank())
+                .mapToLong(this::solveLine)
+                .sum();
+    }
+
+    /**
+     * Solves an input read line by line.
+     *
+     * @param reader the reader of the input, it is not closed
+     * @return the sum of the values of the lines
+     */
+    default long solve(BufferedReader reader) {
+        long sum = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    sum += solveLine(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sum;
+    }
+
+    /**
+     * Solves an ASCII input read line by line.
+     *
+     * @param inputStream the stream of the input, it is not closed
+     * @return the sum of the values of the lines
+     */
+    default long solve(InputStream inputStream) {
+        return solve(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Solves a mapped ASCII input line by line, in order, decoding only one line at a time.
+     *
+     * @param input the input to solve
+     * @return the sum of the values of the lines
+     */
+    default long solve(PuzzleInput input) {
+        return new LineChunkTask(this, input.bytes(), 0, input.length()).solveRange();
+    }
+
+    /**
+     * Solves an input on the common fork-join pool, splitting it in ranges of whole lines.<br>
+     * The solver must be safe to call from several threads at once.
+     *
+     * @param input the input to solve
+     * @return the sum of the values of the lines, identical to the sequential one
+     */
+    default long solveInParallel(PuzzleInput input) {
+        return ForkJoinPool.commonPool().invoke(new LineChunkTask(this, input.bytes(), 0, input.length()));
+    }
+
+    /**
+     * Memory-maps an ASCII file and solves it in parallel.<br>
+     * The file is mapped in windows of at most 1 GB cut at line boundaries, so it may be larger than a single mapping.
+     *
+     * @param path the path of the input
+     * @return the sum of the values of the lines
+     */
+    default long solveInParallel(Path path) {
+        return LineChunkTask.solveInWindows(this, path, LineChunkTask.MAX_WINDOW);
+    }
+
+    /**
+     * Solves an ASCII file read line by line.
+     *
+     * @param path the path of the input
+     * @return the sum of the values of the lines
+     */
+    default long solve(Path path) {
+        try (var reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            return solve(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
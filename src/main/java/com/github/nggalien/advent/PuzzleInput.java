@@ -0,0 +1,124 @@
+package com.github.nggalien.advent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Read-only view of a puzzle input as a sequence of ASCII characters, backed by a {@link ByteBuffer}.<br>
+ * Inputs found on the file system are memory-mapped, other resources are read once into a direct buffer.
+ * Either way the content stays off the heap, and solvers can scan it as a {@link CharSequence}
+ * or through {@link #bytes()} without materialising a {@code String}.
+ *
+ * @param bytes the content of the input, from index 0 to its limit
+ */
+public record PuzzleInput(ByteBuffer bytes) implements CharSequence {
+
+    private static final int READ_CHUNK = 64 * 1024;
+
+    public PuzzleInput {
+        bytes = bytes.slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public int length() {
+        return bytes.limit();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(index) & 0xFF);
+    }
+
+    /**
+     * Returns a view of a part of the input, sharing the same buffer.
+     */
+    @Override
+    public PuzzleInput subSequence(int start, int end) {
+        return new PuzzleInput(bytes.slice(start, end - start));
+    }
+
+    /**
+     * Copies the content of the input into a {@code String}.<br>
+     * The bytes go through a temporary array before being copied into the string, so the heap briefly holds
+     * twice the input: large inputs should be scanned through the {@link CharSequence} methods or {@link #bytes()}.
+     */
+    @Override
+    public String toString() {
+        byte[] content = new byte[bytes.limit()];
+        bytes.get(0, content);
+        return new String(content, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Loads a puzzle input from the resources.
+     *
+     * @param resourceName the name of the resource to load
+     * @return the puzzle input
+     */
+    static PuzzleInput ofResource(String resourceName) {
+        return Optional.ofNullable(PuzzleInput.class.getResource("/" + resourceName))
+                .map(PuzzleInput::of)
+                .orElseThrow();
+    }
+
+    /**
+     * Memory-maps a puzzle input from the file system.
+     *
+     * @param path the path of the file to map
+     * @return the puzzle input
+     */
+    static PuzzleInput ofPath(Path path) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new PuzzleInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a puzzle input from a stream into a direct buffer, growing it as needed.
+     *
+     * @param inputStream the stream to read, it is not closed
+     * @return the puzzle input
+     */
+    static PuzzleInput ofStream(InputStream inputStream) {
+        ReadableByteChannel channel = Channels.newChannel(inputStream);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_CHUNK);
+        try {
+            while (channel.read(buffer) >= 0) {
+                if (!buffer.hasRemaining()) {
+                    buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2).put(buffer.flip());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PuzzleInput(buffer.flip());
+    }
+
+    private static PuzzleInput of(URL url) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return ofPath(Path.of(url.toURI()));
+            }
+            try (var inputStream = url.openStream()) {
+                return ofStream(inputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
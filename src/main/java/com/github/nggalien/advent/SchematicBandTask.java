@@ -0,0 +1,92 @@
+package com.github.nggalien.advent;
+
+import com.github.nggalien.advent.Day3.SchematicWindow.Row;
+import com.github.nggalien.advent.Day3.SchematicWindow.Sums;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task solving a band of rows of a Day 3 schematic.<br>
+ * Bands are split in two at the first new line after their middle, like the {@link LineChunkTask},
+ * until they are small enough to be solved by a single task.
+ * The rows just above and below a band are its halo: they are parsed to solve the rows at the edges of the band,
+ * but they are not solved themselves, as they belong to the neighbouring bands.
+ */
+final class SchematicBandTask extends RecursiveTask<Sums> {
+
+    /**
+     * Size under which a band is solved sequentially.
+     */
+    static final int MIN_BAND = 64 * 1024;
+
+    private final CharSequence schematic;
+    private final int start;
+    private final int end;
+
+    SchematicBandTask(CharSequence schematic, int start, int end) {
+        this.schematic = schematic;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected Sums compute() {
+        if (end - start <= MIN_BAND) {
+            return solveBand();
+        }
+        int middle = start + (end - start) / 2;
+        while (middle < end && schematic.charAt(middle - 1) != '\n') {
+            middle++;
+        }
+        if (middle >= end) {
+            return solveBand();
+        }
+        var first = new SchematicBandTask(schematic, start, middle);
+        first.fork();
+        Sums second = new SchematicBandTask(schematic, middle, end).compute();
+        return first.join().plus(second);
+    }
+
+    /**
+     * Solves the rows starting in the band, sliding the three rows of the kernel from the halo above to the halo below.
+     */
+    private Sums solveBand() {
+        Row above = new Row();
+        Row middle = new Row();
+        Row below = new Row();
+        if (start > 0) {
+            int previous = start - 1;
+            while (previous > 0 && schematic.charAt(previous - 1) != '\n') {
+                previous--;
+            }
+            above.parse(schematic, previous, start - 1);
+        }
+        long partNumbers = 0;
+        long gearRatios = 0;
+        int lineStart = start;
+        int lineEnd = endOfLine(lineStart);
+        middle.parse(schematic, lineStart, lineEnd);
+        while (lineStart < end) {
+            int nextStart = lineEnd + 1;
+            int nextEnd = endOfLine(nextStart);
+            below.parse(schematic, nextStart, nextEnd);
+            partNumbers += Row.partNumbers(above, middle, below);
+            gearRatios += Row.gearRatios(above, middle, below);
+            Row solved = above;
+            above = middle;
+            middle = below;
+            below = solved;
+            lineStart = nextStart;
+            lineEnd = nextEnd;
+        }
+        return new Sums(partNumbers, gearRatios);
+    }
+
+    private int endOfLine(int from) {
+        int index = from;
+        while (index < schematic.length() && schematic.charAt(index) != '\n') {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.nggalien.advent;
+
+import com.github.nggalien.advent.Day5.IntervalBuffer;
+import com.github.nggalien.advent.Day5.RangeMap;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task finding the smallest location of a slice of the seeds of an almanac.<br>
+ * The seed ranges are laid end to end and split by seed span, not by number of ranges, so a few huge ranges,
+ * as in a puzzle input, are shared out as well as thousands of small ones. A slice is split in two until its span
+ * is under the one of a leaf, a leaf then cutting its seeds in a buffer reused by its worker thread and keeping
+ * its own running minimum, without building the mapped intervals.
+ * Minimums of the halves are then compared, which gives the same result as a sequential search whatever the split.
+ * The seed ranges and the map are only read, so they are shared by all the tasks.
+ */
+final class SeedRangeTask extends RecursiveTask<Long> {
+
+    /**
+     * Number of leaves per worker thread, so a worker done early can steal the slices of a slower one.
+     */
+    static final int LEAVES_PER_THREAD = 4;
+
+    private static final ThreadLocal<IntervalBuffer> SLICES = ThreadLocal.withInitial(IntervalBuffer::new);
+
+    private final RangeMap seedToLocation;
+    private final IntervalBuffer seeds;
+    private final long[] offsets;
+    private final long leafSpan;
+    private final long from;
+    private final long to;
+
+    private SeedRangeTask(RangeMap seedToLocation, IntervalBuffer seeds, long[] offsets, long leafSpan, long from, long to) {
+        this.seedToLocation = seedToLocation;
+        this.seeds = seeds;
+        this.offsets = offsets;
+        this.leafSpan = leafSpan;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Finds the smallest location of the seeds on a pool, with {@link #LEAVES_PER_THREAD} leaves per thread of the pool.<br>
+     * Seeds whose total span does not fit in a long cannot be laid end to end, they are then solved on the calling thread,
+     * the map being applied to whole ranges so their span does not matter.
+     *
+     * @param seedToLocation the map of the almanac
+     * @param seeds          the seed ranges, not empty
+     * @param pool           the pool to run the tasks on
+     * @return the smallest location
+     */
+    static long minOf(RangeMap seedToLocation, IntervalBuffer seeds, ForkJoinPool pool) {
+        long[] offsets = new long[seeds.size() + 1];
+        try {
+            for (int i = 0; i < seeds.size(); i++) {
+                offsets[i + 1] = Math.addExact(offsets[i], Math.addExact(Math.subtractExact(seeds.end(i), seeds.start(i)), 1));
+            }
+        } catch (ArithmeticException e) {
+            return seedToLocation.minOf(seeds);
+        }
+        long span = offsets[seeds.size()];
+        long leafSpan = Math.max(1, span / ((long) pool.getParallelism() * LEAVES_PER_THREAD));
+        return pool.invoke(new SeedRangeTask(seedToLocation, seeds, offsets, leafSpan, 0, span));
+    }
+
+    @Override
+    protected Long compute() {
+        if (to - from <= leafSpan) {
+            return solveSlice();
+        }
+        long middle = from + (to - from) / 2;
+        var first = new SeedRangeTask(seedToLocation, seeds, offsets, leafSpan, from, middle);
+        first.fork();
+        long second = new SeedRangeTask(seedToLocation, seeds, offsets, leafSpan, middle, to).compute();
+        return Math.min(first.join(), second);
+    }
+
+    /**
+     * Cuts the seeds laid from {@code from} to {@code to} in the buffer of the thread, then finds their smallest location.
+     */
+    private long solveSlice() {
+        IntervalBuffer slice = SLICES.get();
+        slice.clear();
+        for (int i = firstRange(); i < seeds.size() && offsets[i] < to; i++) {
+            long start = seeds.start(i) + Math.max(0, from - offsets[i]);
+            long end = seeds.start(i) + Math.min(offsets[i + 1], to) - offsets[i] - 1;
+            slice.add(start, end);
+        }
+        return seedToLocation.minOf(slice);
+    }
+
+    /**
+     * Returns the index of the range holding the seed laid at {@code from}.
+     */
+    private int firstRange() {
+        int low = 0;
+        int high = seeds.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= from) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.nggalien.advent;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+/**
+ * Classifier comparing the bytes of a whole register at once, 32 or 64 of them depending on the CPU.<br>
+ * The ends of a range shorter than a register are read with a masked load, so short lines are vectorised too.
+ * Only loaded when the {@code jdk.incubator.vector} module is present, see {@link ByteClassifier#INSTANCE}.
+ */
+final class VectorByteClassifier implements ByteClassifier {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * Returns the lanes of the bytes at {@code offset} that are of the class, lanes not in the mask are ignored.
+     */
+    private static VectorMask<Byte> matches(ByteClass byteClass, MemorySegment bytes, int offset, VectorMask<Byte> lanes) {
+        var vector = lanes.allTrue()
+                ? ByteVector.fromMemorySegment(SPECIES, bytes, offset, ByteOrder.nativeOrder())
+                : ByteVector.fromMemorySegment(SPECIES, bytes, offset, ByteOrder.nativeOrder(), lanes);
+        return switch (byteClass) {
+            case DIGIT -> vector.sub((byte) '0').compare(VectorOperators.UNSIGNED_LT, (byte) 10);
+            case NEW_LINE -> vector.eq((byte) '\n').or(vector.eq((byte) '\r'));
+            case BLANK -> vector.compare(VectorOperators.UNSIGNED_LE, (byte) ' ');
+        };
+    }
+
+    @Override
+    public int indexOf(ByteClass byteClass, MemorySegment bytes, int from, int to) {
+        return scan(byteClass, true, bytes, from, to);
+    }
+
+    @Override
+    public int indexOfNot(ByteClass byteClass, MemorySegment bytes, int from, int to) {
+        return scan(byteClass, false, bytes, from, to);
+    }
+
+    private static int scan(ByteClass byteClass, boolean expected, MemorySegment bytes, int from, int to) {
+        var all = SPECIES.maskAll(true);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            var found = matches(byteClass, bytes, i, all);
+            if (!expected) {
+                found = found.not();
+            }
+            if (found.anyTrue()) {
+                return i + found.firstTrue();
+            }
+        }
+        if (i < to) {
+            var lanes = SPECIES.indexInRange(i, to);
+            var found = matches(byteClass, bytes, i, lanes);
+            if (!expected) {
+                found = found.not();
+            }
+            found = found.and(lanes);
+            if (found.anyTrue()) {
+                return i + found.firstTrue();
+            }
+        }
+        return to;
+    }
+
+    @Override
+    public int lastIndexOf(ByteClass byteClass, MemorySegment bytes, int from, int to) {
+        for (int i = to - LANES; i > from - LANES; i -= LANES) {
+            var lanes = i >= from ? SPECIES.maskAll(true) : VectorMask.fromLong(SPECIES, -1L << (from - i));
+            var found = matches(byteClass, bytes, i, lanes).and(lanes);
+            if (found.anyTrue()) {
+                return i + found.lastTrue();
+            }
+        }
+        return from - 1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.nggalien.advent;
+
+import com.github.nggalien.advent.ByteClassifier.ByteClass;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ByteClassifierTest {
+
+    static final ByteClassifier scalar = new ByteClassifier.Scalar();
+    static final ByteClassifier vector = new VectorByteClassifier();
+
+    @Test
+    void givenRandomRanges_WhenClassified_ThenVectorIsSameAsScalar() {
+        //Given
+        var random = new SplittableRandom(2023);
+        byte[] alphabet = "0123456789abcxyz-\n\r \té".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] input = new byte[300];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = alphabet[random.nextInt(random.nextInt(1, alphabet.length + 1))];
+        }
+        var bytes = MemorySegment.ofArray(input);
+        for (int run = 0; run < 2_000; run++) {
+            int from = random.nextInt(input.length);
+            int to = random.nextInt(from, input.length + 1);
+            for (ByteClass byteClass : ByteClass.values()) {
+                //When
+                //Then
+                String range = STR."\{byteClass} in [\{from}, \{to})";
+                assertEquals(scalar.indexOf(byteClass, bytes, from, to), vector.indexOf(byteClass, bytes, from, to), range);
+                assertEquals(scalar.indexOfNot(byteClass, bytes, from, to), vector.indexOfNot(byteClass, bytes, from, to), range);
+                assertEquals(scalar.lastIndexOf(byteClass, bytes, from, to), vector.lastIndexOf(byteClass, bytes, from, to), range);
+            }
+        }
+    }
+
+    @Test
+    void givenNoMatch_WhenClassified_ThenBoundsOfTheRangeAreReturned() {
+        //Given
+        var bytes = MemorySegment.ofArray("abcdefghij".repeat(10).getBytes(StandardCharsets.US_ASCII));
+        //When
+        //Then
+        assertEquals(100, vector.indexOf(ByteClass.DIGIT, bytes, 0, 100), "No digit should give the end");
+        assertEquals(-1, vector.lastIndexOf(ByteClass.DIGIT, bytes, 0, 100), "No digit should give the start minus one");
+        assertEquals(100, vector.indexOfNot(ByteClass.DIGIT, bytes, 100, 100), "Empty range should give the end");
+    }
+}
@@ -1,12 +1,22 @@
 package com.github.nggalien.advent;
 
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
+import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class Day1Test {
 
@@ -23,6 +33,67 @@ class Day1Test {
         assertEquals(expected, sum, "Sum of all calibration values should be " + expected);
     }
 
+    @ParameterizedTest
+    @MethodSource("provideInputAndExpectedResult")
+    void givenStream_WhenSumOfAllCalibrationValues_ThenResultIsSameAsExpected(
+            String input, int expected
+    ) {
+        //Given
+        Day1 day1 = new Day1() {};
+        var stream = new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII));
+        //When
+        long sum = day1.sumOfAllCalibrationValues(stream);
+        //Then
+        assertEquals(expected, sum, "Sum of all calibration values read line by line should be " + expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInputAndExpectedResult")
+    void givenBytes_WhenSumOfAllCalibrationValues_ThenResultIsSameAsExpected(
+            String input, int expected
+    ) {
+        //Given
+        Day1 day1 = new Day1() {};
+        var bytes = new PuzzleInput(ByteBuffer.wrap(input.replace("\n", "\r\n").getBytes(StandardCharsets.US_ASCII)));
+        //When
+        long sum = day1.sumOfAllCalibrationValues(bytes);
+        //Then
+        assertEquals(expected, sum, "Sum of all calibration values should be " + expected);
+    }
+
+    @Test
+    void givenLargeInput_WhenSolvedInParallel_ThenResultIsSameAsSequential() {
+        //Given
+        Day1 day1 = new Day1() {};
+        String input = (readFileOfResource("day1.txt") + "\n").repeat(100);
+        //When
+        long sum = day1.calibrationSolver().solveInParallel(new PuzzleInput(ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII))));
+        //Then
+        assertEquals(100L * 55260, sum, "Sum of all calibration values solved in parallel should be the sequential one");
+    }
+
+    @Test
+    void givenFileLargerThanAWindow_WhenSolveInWindows_ThenSameAsSequential(@TempDir Path dir) throws IOException {
+        //Given
+        Day1 day1 = new Day1() {};
+        Path file = Files.writeString(dir.resolve("day1.txt"), (readFileOfResource("day1.txt") + "\n").repeat(10));
+        //When
+        long sum = LineChunkTask.solveInWindows(day1.calibrationSolver(), file, 1000);
+        //Then
+        assertEquals(10L * 55260, sum, "Sum of all calibration values solved window by window should be the sequential one");
+    }
+
+    @Test
+    void givenLineLongerThanAWindow_WhenSolveInWindows_ThenFails(@TempDir Path dir) throws IOException {
+        //Given
+        Day1 day1 = new Day1() {};
+        Path file = Files.writeString(dir.resolve("day1.txt"), "1" + "a".repeat(100) + "2\n3b4\n");
+        //When
+        //Then
+        assertThrows(IllegalStateException.class, () -> LineChunkTask.solveInWindows(day1.calibrationSolver(), file, 50),
+                "A line that does not fit in a window should be rejected");
+    }
+
     static Stream<Arguments> provideInputAndExpectedResult() {
         return Stream.of(
                 Arguments.of("""
@@ -5,6 +5,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -74,6 +77,135 @@ class Day2Test {
         assertTrue(repository.canPick(Day2.Game.parse(enoughBlue)), "Should be able to pick game with enough blue cubes");
     }
 
+    @Test
+    void givenColorNotInHand_WhenCanPick_ThenOnlyZeroCanBePicked() {
+        //Given
+        Day2.CubeRepository repository = Day2.CubeRepository.parse("12 red, 13 green, 14 blue");
+        int yellowId = Day2.Colors.register("yellow");
+        var yellow = Day2.Cube.of("yellow");
+        //When
+        //Then
+        assertEquals(yellowId, yellow.id(), "Color should keep its ID");
+        assertEquals(yellowId, Day2.Colors.register("yellow"), "Registering a color again should keep its ID");
+        assertEquals("yellow", Day2.Colors.nameOf(yellow.id()), "ID should give back the color");
+        assertEquals(Day2.Quantity.of(0), repository.quantityOf(yellow), "Quantity of a missing color should be 0");
+        assertTrue(repository.canPick(Day2.CubesOfColor.of(yellow, Day2.Quantity.of(0))), "Should be able to pick no yellow cube");
+        assertFalse(repository.canPick(Day2.CubesOfColor.of(yellow, Day2.Quantity.of(1))), "Should not be able to pick a yellow cube");
+        assertEquals(2184L, repository.power(), "Power should be the product of the quantities of the hand");
+    }
+
+    @Test
+    void givenDrawOfNoCube_WhenPower_ThenColorIsNotCounted() {
+        //Given
+        String line = "Game 7: 0 red, 3 green; 2 blue";
+        Day2.CubeRepository repository = new Day2.CubeRepository();
+        var parser = new Day2.GameLineParser();
+        //When
+        repository.addMissingToFill(Day2.Game.parse(line));
+        parser.read(line);
+        //Then
+        assertEquals(6L, repository.power(), "Red drawn 0 times should not be a present color");
+        assertEquals(2, repository.cubesForColor().size(), "Only green and blue should be in the repository");
+        assertEquals(6L, parser.power(), "Parser should not count red either");
+    }
+
+    @Test
+    void givenIdOfAnotherColor_WhenCube_ThenRejected() {
+        //Given
+        int blue = Day2.Colors.find("blue");
+        //When
+        //Then
+        assertEquals(new Day2.Cube("blue"), new Day2.Cube("blue", blue), "ID of the dictionary should be accepted");
+        assertThrows(IllegalArgumentException.class, () -> new Day2.Cube("red", blue), "ID of blue should not make a red cube");
+    }
+
+    @Test
+    void givenUnknownColor_WhenLookedUp_ThenItIsNotRegistered() {
+        //Given
+        String line = "Game 8: 3 magenta, 1 red";
+        var parser = new Day2.GameLineParser();
+        //When
+        //Then
+        assertEquals(Day2.Colors.ABSENT, Day2.Colors.find("magenta"), "Unknown color should be absent");
+        assertThrows(IllegalArgumentException.class, () -> parser.read(line), "Parser should reject an unknown color");
+        assertThrows(IllegalArgumentException.class, () -> Day2.Game.parse(line), "Game should reject an unknown color");
+        assertThrows(IllegalArgumentException.class, () -> new Day2.Cube("magenta", 3), "Cube should reject an unknown color");
+        assertEquals(Day2.Colors.ABSENT, Day2.Colors.find("magenta"), "Looking a color up should not register it");
+        assertEquals(Day2.Colors.ABSENT, Day2.Colors.find(line, 10, 17), "Looking a range up should not register it");
+    }
+
+    @Test
+    void givenGameLine_WhenRead_ThenPairsAndAggregatesAreComputedInOnePass() {
+        //Given
+        var parser = new Day2.GameLineParser();
+        Day2.CubeRepository repository = Day2.CubeRepository.parse("12 red, 13 green, 14 blue");
+        //When
+        parser.read("Game 3: 8 green, 6 blue, 20 red; 5 blue, 4 red, 13 green; 5 green, 1 red");
+        //Then
+        assertEquals(3, parser.id(), "ID should be 3");
+        assertEquals(8, parser.pairs(), "Game should have 8 pairs");
+        assertEquals(Day2.Colors.find("red"), parser.colorAt(2), "Third pair should be red");
+        assertEquals(20, parser.countAt(2), "Third pair should count 20");
+        assertFalse(parser.isPlayableWith(repository), "Game with 20 red should not be playable");
+        assertEquals(1560L, parser.power(), "Power should be 1560");
+        assertEquals(parser.toGame(), Day2.Game.parse("Game 3: 8 green, 6 blue, 20 red; 5 blue, 4 red, 13 green; 5 green, 1 red"),
+                "Game built from the buffers should be the parsed one");
+
+        //When
+        parser.read("Game 5: 6 red, 1 blue, 3 green; 2 blue, 1 red, 2 green");
+        //Then
+        assertTrue(parser.isPlayableWith(repository), "Game 5 should be playable once the buffers are reused");
+        assertEquals(36L, parser.power(), "Power should be 36");
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidGames")
+    void givenInvalidGameLine_WhenRead_ThenIllegalArgumentException(String line) {
+        //Given
+        var parser = new Day2.GameLineParser();
+        //When
+        //Then
+        assertThrows(IllegalArgumentException.class, () -> parser.read(line), STR."Line \"\{line}\" should not be a game");
+    }
+
+    static Stream<String> invalidGames() {
+        return Stream.of("", "Game", "Game x: 1 red", "Game 1 1 red", "Game 1:", "Game 1: red", "Game 1: 1", "Game 1: 1 red,", "Game 1: 1 red;");
+    }
+
+    @Test
+    void givenFeedOfGames_WhenAccepted_ThenTotalsOfEachBagAreUpToDate() {
+        //Given
+        var aggregator = new Day2.GameAggregator("12 red, 13 green, 14 blue", "20 red, 13 green, 15 blue");
+        //When
+        aggregator.accept("Game 1: 3 blue, 4 red; 1 red, 2 green, 6 blue; 2 green");
+        aggregator.accept("Game 3: 8 green, 6 blue, 20 red; 5 blue, 4 red, 13 green; 5 green, 1 red");
+        //Then
+        assertEquals(1L, aggregator.sumOfAllPlayableGamesNumber("12 red, 13 green, 14 blue"), "Only game 1 should be playable with the first bag");
+        assertEquals(4L, aggregator.sumOfAllPlayableGamesNumber("20 red, 13 green, 15 blue"), "Both games should be playable with the second bag");
+        assertEquals(48L + 1560L, aggregator.powerOffAllGames(), "Power should be the one of the two games");
+
+        //When
+        aggregator.accept("Game 4: 1 green, 3 red, 6 blue; 3 green, 6 red; 3 green, 15 blue, 14 red");
+        aggregator.accept("");
+        //Then
+        assertEquals(1L, aggregator.sumOfAllPlayableGamesNumber("12 red, 13 green, 14 blue"), "Game 4 should not be playable with the first bag");
+        assertEquals(8L, aggregator.sumOfAllPlayableGamesNumber("20 red, 13 green, 15 blue"), "Game 4 should be playable with the second bag");
+        assertEquals(48L + 1560L + 630L, aggregator.powerOffAllGames(), "Power should include game 4");
+        assertEquals(3L, aggregator.games(), "Blank line should not be a game");
+        assertThrows(IllegalArgumentException.class, () -> aggregator.sumOfAllPlayableGamesNumber("1 red"), "Unknown bag should be rejected");
+    }
+
+    @Test
+    void givenPuzzleFedInParallel_WhenAccepted_ThenTotalsAreTheOnesOfThePuzzle() {
+        //Given
+        var aggregator = new Day2.GameAggregator("12 red, 13 green, 14 blue");
+        //When
+        AdventOfCode2023.readFileOfResource("day2.txt").lines().parallel().forEach(aggregator);
+        //Then
+        assertEquals(1867L, aggregator.sumOfAllPlayableGamesNumber("12 red, 13 green, 14 blue"), "Sum of all playable games number should be 1867");
+        assertEquals(84538L, aggregator.powerOffAllGames(), "Power of all games should be 84538");
+    }
+
     @ParameterizedTest
     @MethodSource("provideInputAndExpectedResult")
     void testPowerOfTheRepository(String game, long expected) {
@@ -118,6 +250,34 @@ class Day2Test {
         assertEquals(expectedPowerOfAllGames, power, "Power of all games should be " + expectedPowerOfAllGames);
     }
 
+    @Test
+    void givenStreamOfGames_WhenSolvedLineByLine_ThenResultIsSameAsInMemory() {
+        //Given
+        Day2 day2 = new Day2() {};
+        String hand = "12 red, 13 green, 14 blue";
+        String games = AdventOfCode2023.readFileOfResource("day2.txt");
+        //When
+        long sum = day2.sumOfAllPlayableGamesNumber(hand, new ByteArrayInputStream(games.getBytes(StandardCharsets.US_ASCII)));
+        long power = day2.powerOffAllGames(new ByteArrayInputStream(games.getBytes(StandardCharsets.US_ASCII)));
+        //Then
+        assertEquals(1867L, sum, "Sum of all playable games number should be 1867");
+        assertEquals(84538L, power, "Power of all games should be 84538");
+    }
+
+    @Test
+    void givenLargeInput_WhenSolvedInParallel_ThenResultIsSameAsSequential() {
+        //Given
+        Day2 day2 = new Day2() {};
+        String games = (AdventOfCode2023.readFileOfResource("day2.txt") + "\n").repeat(50);
+        PuzzleInput input = new PuzzleInput(ByteBuffer.wrap(games.getBytes(StandardCharsets.US_ASCII)));
+        //When
+        long sum = day2.playableGameSolver("12 red, 13 green, 14 blue").solveInParallel(input);
+        long power = day2.powerSolver().solveInParallel(input);
+        //Then
+        assertEquals(50L * 1867, sum, "Sum of all playable games number solved in parallel should be the sequential one");
+        assertEquals(50L * 84538, power, "Power of all games solved in parallel should be the sequential one");
+    }
+
     @Test
     void testPart1() {
         //Given
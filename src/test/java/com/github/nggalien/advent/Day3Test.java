@@ -1,9 +1,18 @@
 package com.github.nggalien.advent;
 
+import com.github.nggalien.advent.generator.InputGenerator;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
@@ -27,6 +36,71 @@ class Day3Test {
         assertEquals(sumGearRatio, gearRatio, "Sum of all gear ratios should be " + sumGearRatio);
     }
 
+    @ParameterizedTest
+    @MethodSource("day3Args")
+    void givenSchematicStreamedByRow_WhenFinished_ThenSumsAreTheSameAsTheMotor(String input, long sumOfPartNumbers, long sumGearRatio) {
+        //Given
+        var reader = new BufferedReader(new StringReader(input));
+        //When
+        var window = Day3.SchematicWindow.solve(reader);
+        //Then
+        assertEquals(sumOfPartNumbers, window.sumOfAllPartNumbers(), "Sum of all part numbers should be " + sumOfPartNumbers);
+        assertEquals(sumGearRatio, window.sumOfAllGearRatios(), "Sum of all gear ratios should be " + sumGearRatio);
+    }
+
+    @Test
+    void givenGeneratedSchematic_WhenStreamed_ThenSumsAreTheSameAsTheMotor() {
+        //Given
+        String input = InputGenerator.day3(3, 300, 200);
+        Motor motor = Motor.of(input);
+        //When
+        var window = new Day3.SchematicWindow();
+        input.lines().forEach(window::accept);
+        window.finish();
+        //Then
+        assertEquals(motor.sumOfAllPartNumbers(), window.sumOfAllPartNumbers(), "Sum of all part numbers should be the motor one");
+        assertEquals(motor.sumOfAllGearRatios(), window.sumOfAllGearRatios(), "Sum of all gear ratios should be the motor one");
+    }
+
+    @Test
+    void givenColumns_WhenViewedAsParts_ThenPartsAreTheParsedOnes() {
+        //Given
+        String input = """
+                467..114..
+                ...*......
+                ..35..633.
+                """;
+        //When
+        Motor motor = Motor.of(input);
+        //Then
+        var lines = input.split("\n");
+        var parsed = IntStream.range(0, lines.length)
+                .mapToObj(row -> Day3.parseLine(lines[row], row))
+                .flatMap(Collection::stream)
+                .toList();
+        assertEquals(parsed.stream().filter(Day3.Number.class::isInstance).toList(), motor.numberParts().toList(),
+                "Numbers should keep their value and zone");
+        assertEquals(parsed.stream().filter(Day3.Symbol.class::isInstance).toList(), motor.symbolParts().toList(),
+                "Symbols should keep their char and zone");
+        assertEquals(List.of(Day3.Gear.of(Day3.Number.of(467, new Day3.Zone(new Day3.Position(0, 0), new Day3.Position(2, 0))),
+                Day3.Number.of(35, new Day3.Zone(new Day3.Position(2, 2), new Day3.Position(3, 2))))), motor.gears().toList(),
+                "Gear should be made of 467 and 35");
+    }
+
+    @Test
+    void givenLargeSchematic_WhenSolvedInParallel_ThenSumsAreTheSameAsTheMotor() {
+        //Given
+        String input = InputGenerator.day3(5, 700, 500);
+        Motor motor = Motor.of(input);
+        //When
+        var sums = Day3.SchematicWindow.solveInParallel(input);
+        var mapped = Day3.SchematicWindow.solveInParallel(new PuzzleInput(ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII))));
+        //Then
+        var expected = new Day3.SchematicWindow.Sums(motor.sumOfAllPartNumbers(), motor.sumOfAllGearRatios());
+        assertEquals(expected, sums, "Sums solved by bands should be the motor ones");
+        assertEquals(expected, mapped, "Sums of a mapped input should be the motor ones");
+    }
+
     static Stream<Arguments> day3Args() {
         return Stream.of(
                 Arguments.of("""
@@ -44,4 +118,26 @@ class Day3Test {
                 Arguments.of(readFileOfResource("day3.txt"), 537732L, 84883664L)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPart1() {
+        //Given
+        Day3.Part1 part1 = Day3.findPart1();
+        long rightAnswer = part1.rightAnswer();
+        //When
+        long test = part1.test();
+        //Then
+        assertEquals(rightAnswer, test, "Test should be " + rightAnswer);
+    }
+
+    @Test
+    void testPart2() {
+        //Given
+        Day3.Part2 part2 = Day3.findPart2();
+        long rightAnswer = part2.rightAnswer();
+        //When
+        long test = part2.test();
+        //Then
+        assertEquals(rightAnswer, test, "Test should be " + rightAnswer);
+    }
+}
@@ -1,9 +1,16 @@
 package com.github.nggalien.advent;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
@@ -26,6 +33,107 @@ class Day4Test {
     }
 
 
+    @ParameterizedTest
+    @MethodSource("games")
+    void givenStreamOfCards_WhenScore_ThenScoreIsCorrect(String input, long expectedScore, long expectedCopiesWin) {
+        //Given
+        var cards = new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII));
+        //When
+        long score = Day4.score(cards);
+        //Then
+        assertEquals(expectedScore, score, "Score read line by line should be " + expectedScore);
+        //When
+        long copiesWin = Day4.copiesWin(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)));
+        //Then
+        assertEquals(expectedCopiesWin, copiesWin, "Copies win read line by line should be " + expectedCopiesWin);
+    }
+
+    @ParameterizedTest
+    @MethodSource("games")
+    void givenMappedCards_WhenScore_ThenScoreIsCorrect(String input, long expectedScore, long expectedCopiesWin) {
+        //Given
+        var cards = new PuzzleInput(ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII)));
+        //When
+        long score = Day4.scoreSolver.solve(cards);
+        long copiesWin = Day4.copiesWin(cards);
+        //Then
+        assertEquals(expectedScore, score, "Score of the mapped cards should be " + expectedScore);
+        assertEquals(expectedCopiesWin, copiesWin, "Copies win of the mapped cards should be " + expectedCopiesWin);
+    }
+
+    @Test
+    void givenMatchesLargerThanTheRing_WhenAccepted_ThenRunningTotalIsSameAsDifferenceArray() {
+        //Given
+        int[] matches = {2, 0, 20, 1, 0, 3, 17, 0, 0, 1, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0};
+        var counter = new Day4.CopiesCounter();
+        //When
+        long total = 0;
+        for (int match : matches) {
+            total = counter.accept(match);
+        }
+        //Then
+        assertEquals(Day4.copiesWin(matches), total, "Running total should be the one of the whole deck");
+        assertEquals(matches.length, counter.cards(), "Every card should be counted once");
+    }
+
+    @Test
+    void givenLargeInput_WhenScoreInParallel_ThenScoreIsSameAsSequential() {
+        //Given
+        String cards = (readFileOfResource("day4.txt") + "\n").repeat(50);
+        //When
+        long score = Day4.scoreSolver.solveInParallel(new PuzzleInput(ByteBuffer.wrap(cards.getBytes(StandardCharsets.US_ASCII))));
+        //Then
+        assertEquals(50L * 19855, score, "Score solved in parallel should be the sequential one");
+    }
+
+    @Test
+    void givenMoreMatchesThanBitsOfALong_WhenScore_ThenOverflowIsRejected() {
+        //Given
+        int[] numbers = IntStream.range(0, 65).toArray();
+        Day4.Card largest = Day4.Card.of(1, 1, Arrays.copyOf(numbers, 63), Arrays.copyOf(numbers, 63));
+        Day4.Card tooLarge = Day4.Card.of(2, 1, numbers, numbers);
+        //When
+        //Then
+        assertEquals(1L << 62, largest.score(), "Score of 63 matches should be the largest one");
+        assertThrows(ArithmeticException.class, tooLarge::score, "Score of 65 matches should not wrap");
+        assertThrows(ArithmeticException.class, () -> new Day4.Game(List.of(largest, largest)).score(),
+                "Sum of the scores should not wrap");
+    }
+
+    @Test
+    void givenNumbersOverSeveralWords_WhenCardIsBuilt_ThenMatchesAreCountedOnce() {
+        //Given
+        int[] good = {1, 63, 64, 127, 200};
+        int[] mine = {200, 3, 64, 1, 65};
+        //When
+        Day4.Card card = Day4.Card.of(1, 1, good, mine);
+        //Then
+        assertEquals(3L, card.numberOfMatches(), "1, 64 and 200 should match");
+        assertEquals(4L, card.score(), "Score of 3 matches should be 4");
+        assertEquals(0L, Day4.Card.of(2, 1, new int[]{5}, new int[]{6}).score(), "Card without match should score 0");
+        good[0] = 3;
+        assertEquals(3, card.matches(), "Numbers changed after the card is built should not change its matches");
+    }
+
+    @ParameterizedTest
+    @MethodSource("games")
+    void givenDeck_WhenCopiesWinFromMatches_ThenSameAsGame(String input, long expectedScore, long expectedCopiesWin) {
+        //When
+        long copiesWin = Day4.copiesWin(input);
+        //Then
+        assertEquals(expectedCopiesWin, copiesWin, "Copies win from the matches only should be " + expectedCopiesWin);
+    }
+
+    @Test
+    void givenMatchesPastTheEnd_WhenCopiesWin_ThenOnlyExistingCardsAreCopied() {
+        //Given
+        int[] matches = {3, 0, 5};
+        //When
+        long copiesWin = Day4.copiesWin(matches);
+        //Then
+        assertEquals(1L + 2L + 2L, copiesWin, "Copies past the last card should be dropped");
+    }
+
     static Stream<Arguments> games() {
         return Stream.of(
                 Arguments.of(
@@ -6,11 +6,16 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -232,4 +237,228 @@ class Day5Test {
         ).filter(Objects::nonNull);
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenOverlappingRules_WhenCompiled_ThenFirstRuleWins() {
+        //Given
+        var rules = List.of(ShiftedInterval.of(100, 10, 10), ShiftedInterval.of(200, 5, 20));
+        //When
+        RangeMap map = RangeMap.of(rules);
+        //Then
+        assertEquals(3, map.size(), "Second rule should be cut around the first one");
+        assertEquals(4L, map.map(4), "Value before the rules should be kept");
+        assertEquals(201L, map.map(6), "Value only in the second rule should use it");
+        assertEquals(102L, map.map(12), "Value in both rules should use the first one");
+        assertEquals(217L, map.map(22), "Value after the first rule should use the second one");
+        assertEquals(25L, map.map(25), "Value after the rules should be kept");
+    }
+
+    @Test
+    void givenRandomRulesAndIntervals_WhenMapped_ThenEachValueIsShiftedByItsFirstRule() {
+        //Given
+        var random = new SplittableRandom(5);
+        for (int run = 0; run < 200; run++) {
+            List<ShiftedInterval> rules = Stream.generate(() -> ShiftedInterval.of(random.nextLong(200), random.nextLong(100), random.nextLong(1, 30)))
+                    .limit(random.nextInt(1, 6))
+                    .toList();
+            long start = random.nextLong(120);
+            Interval interval = Interval.of(start, start + random.nextLong(40));
+            var input = new IntervalBuffer();
+            input.add(interval.start(), interval.end());
+            var output = new IntervalBuffer();
+            //When
+            RangeMap.of(rules).map(input, output);
+            //Then
+            var expected = new TreeSet<Long>();
+            LongStream.rangeClosed(interval.start(), interval.end())
+                    .map(value -> value + rules.stream()
+                            .filter(rule -> rule.interval().start() <= value && value <= rule.interval().end())
+                            .mapToLong(ShiftedInterval::shift)
+                            .findFirst()
+                            .orElse(0))
+                    .forEach(expected::add);
+            var actual = new TreeSet<Long>();
+            for (int i = 0; i < output.size(); i++) {
+                LongStream.rangeClosed(output.start(i), output.end(i)).forEach(actual::add);
+            }
+            assertEquals(expected, actual, STR."\{interval} through \{rules} should map to the same values");
+        }
+    }
+
+    @Test
+    void givenRandomSections_WhenComposed_ThenSameValuesAsMappingSectionBySection() {
+        //Given
+        var random = new SplittableRandom(23);
+        for (int run = 0; run < 100; run++) {
+            List<RangeMap> sections = Stream.generate(() -> RangeMap.of(Stream.generate(() -> ShiftedInterval.of(random.nextLong(200), random.nextLong(200), random.nextLong(1, 40)))
+                            .limit(random.nextInt(0, 6))
+                            .toList()))
+                    .limit(random.nextInt(1, 8))
+                    .toList();
+            //When
+            RangeMap composed = sections.stream().reduce(RangeMap.of(List.of()), RangeMap::andThen);
+            //Then
+            for (long value = 0; value < 300; value++) {
+                long expected = value;
+                for (RangeMap section : sections) {
+                    expected = section.map(expected);
+                }
+                assertEquals(expected, composed.map(value), STR."Seed \{value} should go to the same location");
+            }
+        }
+    }
+
+    @Test
+    void givenAlmanac_WhenCompiled_ThenEachSeedGoesToItsLocation() {
+        //Given
+        var input = AdventOfCode2023.readFileOfResource("day5.txt");
+        var sections = Arrays.stream(input.split("\n\n")).skip(1).map(RangeMap::parse).toList();
+        //When
+        RangeMap composed = compile(input);
+        //Then
+        lineToSingleIntervalProvider.apply(input.lines().findFirst().orElseThrow()).forEach(seed -> {
+            long expected = seed.start();
+            for (RangeMap section : sections) {
+                expected = section.map(expected);
+            }
+            assertEquals(expected, composed.map(seed.start()), STR."Seed \{seed.start()} should go to the same location");
+        });
+    }
+
+    @Test
+    void givenCompiledAlmanac_WhenMinOfSeveralSeedSets_ThenEachIsTheMinimumLocation() {
+        //Given
+        var input = AdventOfCode2023.readFileOfResource("day5.txt");
+        RangeMap almanac = compile(input);
+        var singleSeeds = new IntervalBuffer();
+        lineToSingleIntervalProvider.apply(input.lines().findFirst().orElseThrow()).forEach(seed -> singleSeeds.add(seed.start(), seed.end()));
+        var seedRanges = new IntervalBuffer();
+        lineToIntervalsProvider.apply(input.lines().findFirst().orElseThrow()).forEach(seed -> seedRanges.add(seed.start(), seed.end()));
+        //When
+        long minOfSingleSeeds = almanac.minOf(singleSeeds);
+        long minOfSeedRanges = almanac.minOf(seedRanges);
+        //Then
+        assertEquals(579439039L, minOfSingleSeeds, "Min location of the seeds");
+        assertEquals(7873084L, minOfSeedRanges, "Min location of the seed ranges");
+    }
+
+    @Test
+    void givenAlmanac_WhenLocationsOfSeedRange_ThenEachSeedIsInThem() {
+        //Given
+        var input = AdventOfCode2023.readFileOfResource("day5.txt");
+        Almanac almanac = Almanac.parse(input);
+        Interval seeds = Interval.of(79, 92);
+        //When
+        List<Interval> locations = almanac.locations(seeds);
+        //Then
+        LongStream.rangeClosed(seeds.start(), seeds.end()).forEach(seed -> assertTrue(
+                locations.stream().anyMatch(location -> location.start() <= almanac.location(seed) && almanac.location(seed) <= location.end()),
+                STR."Location of seed \{seed} should be in \{locations}"));
+        assertEquals(seeds.end() - seeds.start(), locations.stream().mapToLong(location -> location.end() - location.start() + 1).sum() - 1,
+                "Locations should have as many values as the seeds");
+    }
+
+    @Test
+    void givenAlmanacService_WhenManyConcurrentQueries_ThenSameAnswersAsSequential() {
+        //Given
+        var input = AdventOfCode2023.readFileOfResource("day5.txt");
+        Almanac almanac = Almanac.parse(input);
+        List<Interval> seedRanges = lineToIntervalsProvider.apply(input.lines().findFirst().orElseThrow()).toList();
+        try (var service = new AlmanacService(almanac)) {
+            //When
+            var locations = LongStream.range(0, 10_000).mapToObj(service::location).toList();
+            var minLocations = Stream.generate(() -> service.minLocation(seedRanges)).limit(1_000).toList();
+            //Then
+            for (int seed = 0; seed < locations.size(); seed++) {
+                assertEquals(almanac.location(seed), (long) locations.get(seed).join(), STR."Location of seed \{seed}");
+            }
+            minLocations.forEach(minLocation -> assertEquals(7873084L, (long) minLocation.join(), "Min location of the seed ranges"));
+        }
+    }
+
+    @Test
+    void givenAlmanac_WhenFindMinIntervalsInParallel_ThenSameAsSequential() {
+        //Given
+        var input = AdventOfCode2023.readFileOfResource("day5.txt");
+        //When
+        long minOfSingleSeeds = findMinIntervalsInParallel(input, lineToSingleIntervalProvider);
+        long minOfSeedRanges = findMinIntervalsInParallel(input, lineToIntervalsProvider);
+        //Then
+        assertEquals(579439039L, minOfSingleSeeds, "Min location of the seeds");
+        assertEquals(7873084L, minOfSeedRanges, "Min location of the seed ranges");
+    }
+
+    @Test
+    void givenThousandsOfHugeSeedRanges_WhenMinLocationInParallel_ThenSameAsSequential() {
+        //Given
+        var random = new SplittableRandom(25);
+        Almanac almanac = Almanac.parse(AdventOfCode2023.readFileOfResource("day5.txt"));
+        List<Interval> seeds = Stream.generate(() -> {
+                    long start = random.nextLong(4_000_000_000L);
+                    return Interval.of(start, start + random.nextLong(1, 500_000_000L));
+                })
+                .limit(5_000)
+                .toList();
+        //When
+        long parallel = almanac.minLocationInParallel(seeds);
+        //Then
+        assertEquals(almanac.minLocation(seeds), parallel, "Parallel min location should be the sequential one");
+    }
+
+    @ParameterizedTest
+    @MethodSource("poolSizes")
+    void givenFewHugeSeedRanges_WhenCutInLeavesBySpan_ThenMinIsTheSequentialOne(int parallelism) {
+        //Given
+        var input = AdventOfCode2023.readFileOfResource("day5.txt");
+        RangeMap almanac = compile(input);
+        var seeds = new IntervalBuffer();
+        lineToIntervalsProvider.apply(input.lines().findFirst().orElseThrow()).forEach(seed -> seeds.add(seed.start(), seed.end()));
+        try (var pool = new ForkJoinPool(parallelism)) {
+            //When
+            long min = SeedRangeTask.minOf(almanac, seeds, pool);
+            //Then
+            assertEquals(almanac.minOf(seeds), min, STR."Min location with \{parallelism} threads should be the sequential one");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("rangesNearTheLimits")
+    void givenSeedRangesNearTheLimits_WhenMinOnAPool_ThenMinIsTheSequentialOne(long[] bounds) {
+        //Given
+        RangeMap almanac = compile(AdventOfCode2023.readFileOfResource("day5.txt"));
+        var seeds = new IntervalBuffer();
+        for (int i = 0; i < bounds.length; i += 2) {
+            seeds.add(bounds[i], bounds[i + 1]);
+        }
+        try (var pool = new ForkJoinPool(4)) {
+            //When
+            long min = SeedRangeTask.minOf(almanac, seeds, pool);
+            //Then
+            assertEquals(almanac.minOf(seeds), min, "Span past the limits of a long should not wrap");
+        }
+    }
+
+    static Stream<Arguments> rangesNearTheLimits() {
+        return Stream.of(
+                Arguments.of((Object) new long[]{Long.MIN_VALUE, Long.MAX_VALUE}),
+                Arguments.of((Object) new long[]{-1, Long.MAX_VALUE}),
+                Arguments.of((Object) new long[]{0, Long.MAX_VALUE - 1}),
+                Arguments.of((Object) new long[]{0, Long.MAX_VALUE / 2, Long.MAX_VALUE / 2 + 1, Long.MAX_VALUE})
+        );
+    }
+
+    static Stream<Arguments> poolSizes() {
+        return Stream.of(Arguments.of(1), Arguments.of(3), Arguments.of(64), Arguments.of(1000));
+    }
+
+    @Test
+    void givenSeedRangeEndingBeforeItStarts_WhenMinLocation_ThenRejected() {
+        //Given
+        Almanac almanac = Almanac.parse(AdventOfCode2023.readFileOfResource("day5.txt"));
+        List<Interval> seeds = List.of(Interval.of(79, 92), Interval.of(55, 13));
+        //When
+        //Then
+        assertThrows(IllegalArgumentException.class, () -> almanac.minLocation(seeds), "Reversed range should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> almanac.minLocationInParallel(seeds), "Reversed range should be rejected in parallel");
+    }
+
+}
@@ -143,4 +143,15 @@ class Day7Test {
     static void greaterThan(Hand hand1, Hand hand2) {
         assertTrue(hand1.compareTo(hand2) > 0, STR."Hand \{hand1} should be greater than \{hand2}");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPart2() {
+        //Given
+        Day7.Part2 part2 = Day7.findPart2();
+        long rightAnswer = part2.rightAnswer();
+        //When
+        long test = part2.test();
+        //Then
+        assertEquals(rightAnswer, test, "Test should be " + rightAnswer);
+    }
+}
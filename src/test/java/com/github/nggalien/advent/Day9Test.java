@@ -1,9 +1,13 @@
 package com.github.nggalien.advent;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -27,6 +31,47 @@ class Day9Test {
         assertEquals(expectedFirstNumber, result);
     }
 
+    @ParameterizedTest(name = "testParts: {0}")
+    @MethodSource("parts")
+    void testSolvesLineByLine(String input, long expectedLastNumber, long expectedFirstNumber) {
+        //When
+        long result = Day9.solve(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), Day9::addLastNumber);
+        //Then
+        assertEquals(expectedLastNumber, result);
+        //When
+        result = Day9.solve(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), Day9::addFirstNumber);
+        //Then
+        assertEquals(expectedFirstNumber, result);
+    }
+
+    @ParameterizedTest(name = "testParts: {0}")
+    @MethodSource("parts")
+    void testSolvesMappedInput(String input, long expectedLastNumber, long expectedFirstNumber) {
+        //Given
+        PuzzleInput report = new PuzzleInput(ByteBuffer.wrap(input.replace("\n", "\r\n").getBytes(StandardCharsets.US_ASCII)));
+        //When
+        long result = Day9.solve(report, Day9::addLastNumber);
+        //Then
+        assertEquals(expectedLastNumber, result);
+        //When
+        result = Day9.solve(report, Day9::addFirstNumber);
+        //Then
+        assertEquals(expectedFirstNumber, result);
+    }
+
+    @Test
+    void givenLargeInput_WhenSolvedInParallel_ThenResultIsSameAsSequential() {
+        //Given
+        String report = (readFileOfResource("day9.txt") + "\n").repeat(50);
+        PuzzleInput input = new PuzzleInput(ByteBuffer.wrap(report.getBytes(StandardCharsets.US_ASCII)));
+        //When
+        long last = Day9.solver(Day9::addLastNumber).solveInParallel(input);
+        long first = Day9.solver(Day9::addFirstNumber).solveInParallel(input);
+        //Then
+        assertEquals(50L * 1898776583L, last);
+        assertEquals(50L * 1100L, first);
+    }
+
     static Stream<Arguments> parts() {
         return Stream.of(
                 Arguments.of("10  13  16  21  30  45", 68L, 5L),
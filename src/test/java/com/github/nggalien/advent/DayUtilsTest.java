@@ -4,12 +4,15 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DayUtilsTest {
 
@@ -23,12 +26,48 @@ class DayUtilsTest {
         assertArrayEquals(expected, result, "Parsed long stream should be " + Arrays.toString(expected));
     }
 
+    @ParameterizedTest(name = "Given bytes of \"{0}\" then parseLongArray should return {1}")
+    @MethodSource("provideInputAndExpectedResult")
+    void parseLongArrayOfBytes(String input, long[] expected) {
+        //Given
+        byte[] line = (" " + input + "\n").getBytes(StandardCharsets.US_ASCII);
+        //When
+        long[] result = DayUtils.parseLongArray(MemorySegment.ofArray(line), 1, line.length - 1);
+        //Then
+        assertArrayEquals(expected, result, "Parsed bytes should be " + Arrays.toString(expected));
+    }
+
+    @ParameterizedTest(name = "Given out of range \"{0}\" then parseLongArray should fail")
+    @MethodSource("provideOutOfRangeInput")
+    void givenOutOfRangeNumber_WhenParseLongArray_ThenFails(String input) {
+        //Given
+        byte[] line = input.getBytes(StandardCharsets.US_ASCII);
+        //When
+        //Then
+        assertThrows(NumberFormatException.class, () -> DayUtils.parseLongArray(input), "Parsed string should be rejected");
+        assertThrows(NumberFormatException.class, () -> DayUtils.parseLongArray(MemorySegment.ofArray(line), 0, line.length),
+                "Parsed bytes should be rejected");
+    }
+
+    static Stream<Arguments> provideOutOfRangeInput() {
+        return Stream.of(
+                Arguments.of("1 9223372036854775808"),
+                Arguments.of("-9223372036854775809 2"),
+                Arguments.of("12345678901234567890"),
+                Arguments.of("99999999999999999999999")
+        );
+    }
+
     static Stream<Arguments> provideInputAndExpectedResult() {
         return Stream.of(
                 Arguments.of("1 2 3 4 5 6 7 8 9", new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9}),
                 Arguments.of("1 2 3 4 5 6 7 8 9 10", new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}),
                 Arguments.of("1 123   456 789", new long[]{1, 123, 456, 789}),
-                Arguments.of("  1 123   456 789", new long[]{1, 123, 456, 789})
+                Arguments.of("  1 123   456 789", new long[]{1, 123, 456, 789}),
+                Arguments.of("-3 14\t-159  26 ", new long[]{-3, 14, -159, 26}),
+                Arguments.of("9223372036854775807 -9223372036854775808", new long[]{Long.MAX_VALUE, Long.MIN_VALUE}),
+                Arguments.of("1 2 3 4 5 6 7 8 9 10 ".repeat(20), Stream.generate(() -> new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10})
+                        .limit(20).flatMapToLong(Arrays::stream).toArray())
         );
     }
 
@@ -0,0 +1,55 @@
+package com.github.nggalien.advent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static com.github.nggalien.advent.AdventOfCode2023.readFileOfResource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DigitScannerTest {
+
+    @ParameterizedTest
+    @MethodSource("lines")
+    void givenLine_WhenCalibrationValue_ThenFirstAndLastDigitsAreCombined(String line, int expected) {
+        //Given
+        DigitScanner scanner = DigitScanner.of(Day1.digitsAsString);
+        //When
+        int value = scanner.calibrationValue(line);
+        //Then
+        assertEquals(expected, value, STR."Calibration value of \{line} should be \{expected}");
+    }
+
+    @Test
+    void givenPuzzle_WhenCalibrationValue_ThenSameAsSearchOfEachWord() {
+        //Given
+        Day1 day1 = new Day1() {};
+        //When
+        //Then
+        readFileOfResource("day1.txt").lines().forEach(line -> assertEquals(
+                day1.findTwoNumbers(line).mapToInt(Day1.TwoNumbers::combine).sum(),
+                Day1.digitScanner.calibrationValue(line),
+                line));
+    }
+
+    static Stream<Arguments> lines() {
+        return Stream.of(
+                Arguments.of("two1nine", 29),
+                Arguments.of("eightwothree", 83),
+                Arguments.of("xtwone3four", 24),
+                Arguments.of("zoneight234", 14),
+                Arguments.of("7pqrstsixteen", 76),
+                Arguments.of("oneight", 18),
+                Arguments.of("sevenine", 79),
+                Arguments.of("nineight", 98),
+                Arguments.of("fivthree", 33),
+                Arguments.of("ninine", 99),
+                Arguments.of("treb7uchet", 77),
+                Arguments.of("abc", 0),
+                Arguments.of("", 0)
+        );
+    }
+}
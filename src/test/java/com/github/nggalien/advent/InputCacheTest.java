@@ -0,0 +1,101 @@
+package com.github.nggalien.advent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InputCacheTest {
+
+    static final Function<String, Day4.Game> gameParser = Day4::parseGame;
+
+    @Test
+    void givenSameParser_WhenParsedTwice_ThenParsedOnce() {
+        //Given
+        InputCache cache = new InputCache(InputCache.DEFAULT_MAX_BYTES);
+        //When
+        Day4.Game first = cache.parsed("day4.txt", gameParser);
+        Day4.Game second = cache.parsed("day4.txt", gameParser);
+        //Then
+        assertSame(first, second, "Second part should reuse the parsed game");
+        assertEquals(19855L, second.score(), "Score should be the one of the puzzle");
+        assertEquals(10378710L, second.copiesWin(), "Copies win should be the one of the puzzle");
+        assertEquals(10378710L, first.copiesWin(), "Copies win should not change the cached game");
+    }
+
+    @Test
+    void givenBoundReached_WhenLoadingAnotherResource_ThenLeastRecentlyUsedIsEvicted() {
+        //Given
+        long day6Size = PuzzleInput.ofResource("day6.txt").length();
+        long day9Size = PuzzleInput.ofResource("day9.txt").length();
+        InputCache cache = new InputCache(2 * (day6Size + day9Size));
+        Day4.Game game = cache.parsed("day4.txt", gameParser);
+        cache.text("day6.txt");
+        //When
+        cache.text("day9.txt");
+        //Then
+        assertFalse(cache.contains("day4.txt"), "Least recently used input should be evicted");
+        assertTrue(cache.contains("day6.txt"), "Recently used input should be kept");
+        assertTrue(cache.contains("day9.txt"), "Last input should be kept");
+        assertNotSame(game, cache.parsed("day4.txt", gameParser), "Evicted input should be parsed again");
+    }
+
+    @Test
+    void givenParsedForm_WhenItGoesOverTheBound_ThenOtherInputsAreEvicted() {
+        //Given
+        long day6Size = PuzzleInput.ofResource("day6.txt").length();
+        long day4Size = PuzzleInput.ofResource("day4.txt").length();
+        InputCache cache = new InputCache(2 * (day6Size + day4Size));
+        cache.text("day6.txt");
+        cache.text("day4.txt");
+        //When
+        cache.parsed("day4.txt", gameParser);
+        //Then
+        assertFalse(cache.contains("day6.txt"), "Parsed form should count in the weight of its input");
+        assertTrue(cache.contains("day4.txt"), "Parsed input should be kept");
+    }
+
+    @Test
+    void givenRawInput_WhenTextIsNotAskedFor_ThenOnlyTheBytesAreWeighed() {
+        //Given
+        long day6Size = PuzzleInput.ofResource("day6.txt").length();
+        long day4Size = PuzzleInput.ofResource("day4.txt").length();
+        InputCache cache = new InputCache(day6Size + day4Size);
+        cache.input("day6.txt");
+        //When
+        PuzzleInput cards = cache.input("day4.txt");
+        //Then
+        assertTrue(cache.contains("day6.txt"), "Raw inputs alone should fit in the bound");
+        assertEquals(19855L, Day4.scoreSolver.solve(cards), "Score of the raw input should be the one of the puzzle");
+        //When
+        cache.text("day4.txt");
+        //Then
+        assertFalse(cache.contains("day6.txt"), "Decoded text should count in the weight of its input");
+        assertTrue(cache.contains("day4.txt"), "Decoded input should be kept");
+    }
+
+    @Test
+    void givenConcurrentCallers_WhenParsed_ThenAllGetTheSameParsedForm() throws InterruptedException {
+        //Given
+        InputCache cache = new InputCache(InputCache.DEFAULT_MAX_BYTES);
+        var results = new ConcurrentLinkedQueue<Day4.Game>();
+        //When
+        List<Thread> threads = Stream.generate(() -> Thread.ofVirtual().start(() -> results.add(cache.parsed("day4.txt", gameParser))))
+                .limit(16)
+                .toList();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        //Then
+        assertEquals(16, results.size(), "Every caller should get the parsed form");
+        results.forEach(game -> assertSame(results.peek(), game, "Input should be loaded and parsed once"));
+    }
+}
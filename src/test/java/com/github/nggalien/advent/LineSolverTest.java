@@ -0,0 +1,54 @@
+package com.github.nggalien.advent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LineSolverTest {
+
+    static final LineSolver lengthSolver = String::length;
+
+    @Test
+    void givenMixedLineEnds_WhenSolvedSequentiallyOrInChunks_ThenSameLinesAreSolved(@TempDir Path dir) throws IOException {
+        //Given
+        String[] ends = {"\n", "\r\n", "\r"};
+        var builder = new StringBuilder();
+        long expected = 0;
+        for (int line = 0; line < 40_000; line++) {
+            int length = line % 37;
+            builder.append("x".repeat(length)).append(ends[line % ends.length]);
+            expected += length;
+        }
+        String input = builder.toString();
+        byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+        Path file = Files.write(dir.resolve("input.txt"), bytes);
+        PuzzleInput mapped = new PuzzleInput(ByteBuffer.wrap(bytes));
+        //When
+        //Then
+        assertEquals(expected, lengthSolver.solve(input), "Lines of the string should not keep their \\r");
+        assertEquals(expected, lengthSolver.solve(new ByteArrayInputStream(bytes)), "Lines of the stream should not keep their \\r");
+        assertEquals(expected, lengthSolver.solve(mapped), "Lines of the bytes should not keep their \\r");
+        assertEquals(expected, lengthSolver.solveInParallel(mapped), "Lines of the chunks should not keep their \\r");
+        assertEquals(expected, lengthSolver.solveInParallel(file), "Lines of the mapped file should not keep their \\r");
+        assertEquals(expected, LineChunkTask.solveInWindows(lengthSolver, file, 4096), "Lines of the windows should not keep their \\r");
+    }
+
+    @Test
+    void givenCrLfCutByAWindow_WhenSolveInWindows_ThenSameAsSequential(@TempDir Path dir) throws IOException {
+        //Given
+        String input = "abc\r\nde\r\n";
+        Path file = Files.writeString(dir.resolve("input.txt"), input);
+        //When
+        long sum = LineChunkTask.solveInWindows(lengthSolver, file, 4);
+        //Then
+        assertEquals(lengthSolver.solve(input), sum, "Window ending between \\r and \\n should not add a line");
+    }
+}
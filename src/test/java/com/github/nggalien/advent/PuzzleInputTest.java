@@ -0,0 +1,46 @@
+package com.github.nggalien.advent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PuzzleInputTest {
+
+    @Test
+    void givenResource_WhenOfResource_ThenContentIsTheFile() {
+        //When
+        PuzzleInput input = PuzzleInput.ofResource("day6.txt");
+        //Then
+        assertEquals("Time:", input.subSequence(0, 5).toString(), "Input should start with the first line");
+        assertEquals('T', input.charAt(0), "First char should be T");
+    }
+
+    @Test
+    void givenFile_WhenOfPath_ThenContentIsMapped(@TempDir Path dir) throws IOException {
+        //Given
+        Path file = Files.writeString(dir.resolve("input.txt"), "467..114..\n...*......\n");
+        //When
+        PuzzleInput input = PuzzleInput.ofPath(file);
+        //Then
+        assertEquals(22, input.length(), "Length should be the size of the file");
+        assertEquals("...*......", input.subSequence(11, 21).toString(), "Sub sequence should be the second line");
+        assertEquals('*', input.subSequence(11, 21).charAt(3), "Sub sequence should index from its start");
+    }
+
+    @Test
+    void givenStreamLargerThanAChunk_WhenOfStream_ThenContentIsComplete() {
+        //Given
+        String content = "1abc2\n".repeat(50_000);
+        //When
+        PuzzleInput input = PuzzleInput.ofStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)));
+        //Then
+        assertEquals(content, input.toString(), "Content should be read entirely");
+    }
+}
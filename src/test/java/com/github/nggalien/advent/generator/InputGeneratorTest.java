@@ -0,0 +1,104 @@
+package com.github.nggalien.advent.generator;
+
+import com.github.nggalien.advent.Day10;
+import com.github.nggalien.advent.Day13;
+import com.github.nggalien.advent.Day2;
+import com.github.nggalien.advent.Day6;
+import com.github.nggalien.advent.Day8;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InputGeneratorTest {
+
+    @ParameterizedTest(name = "Given generator of {0} then input only depends on the seed")
+    @MethodSource("generators")
+    void givenSeed_WhenGenerate_ThenInputIsReproducible(String day, LongFunction<String> generator) {
+        //When
+        String first = generator.apply(42);
+        String second = generator.apply(42);
+        String other = generator.apply(43);
+        //Then
+        assertEquals(first, second, STR."\{day} input should be the same for the same seed");
+        assertNotEquals(first, other, STR."\{day} input should change with the seed");
+    }
+
+    static Stream<Arguments> generators() {
+        return Stream.of(
+                Arguments.of("day1", (LongFunction<String>) seed -> InputGenerator.day1(seed, 100)),
+                Arguments.of("day2", (LongFunction<String>) seed -> InputGenerator.day2(seed, 100, 5)),
+                Arguments.of("day3", (LongFunction<String>) seed -> InputGenerator.day3(seed, 140, 140)),
+                Arguments.of("day4", (LongFunction<String>) seed -> InputGenerator.day4(seed, 100, 10, 25)),
+                Arguments.of("day5", (LongFunction<String>) seed -> InputGenerator.day5(seed, 10, 30)),
+                Arguments.of("day6", (LongFunction<String>) seed -> InputGenerator.day6(seed, 4, 99)),
+                Arguments.of("day7", (LongFunction<String>) seed -> InputGenerator.day7(seed, 100)),
+                Arguments.of("day8", (LongFunction<String>) seed -> InputGenerator.day8(seed, 100, 6, 50)),
+                Arguments.of("day9", (LongFunction<String>) seed -> InputGenerator.day9(seed, 100, 21)),
+                Arguments.of("day10", (LongFunction<String>) seed -> InputGenerator.day10(seed, 40, 30)),
+                Arguments.of("day11", (LongFunction<String>) seed -> InputGenerator.day11(seed, 140, 140, 0.02)),
+                Arguments.of("day13", (LongFunction<String>) seed -> InputGenerator.day13(seed, 100, 15, 11))
+        );
+    }
+
+    @Test
+    void givenGeneratedGames_WhenParse_ThenEveryGameIsRead() {
+        //Given
+        String games = InputGenerator.day2(1, 500, 6);
+        //When
+        var parsed = Day2.parse(games);
+        //Then
+        assertEquals(500, parsed.size(), "Every generated game should be parsed");
+    }
+
+    @Test
+    void givenGeneratedNetwork_WhenWalkFromAAA_ThenZZZIsReached() {
+        //Given
+        int length = 50;
+        String network = InputGenerator.day8(1, 100, 4, length);
+        //When
+        long steps = Day8.solves(network, s -> s.equals("AAA"), s -> s.equals("ZZZ"));
+        //Then
+        assertTrue(steps >= length - 1 && steps <= 2L * (length - 1), "Path should go through every node, with detours");
+    }
+
+    @Test
+    void givenGeneratedField_WhenSolve_ThenLoopEnclosesTiles() {
+        //Given
+        String field = InputGenerator.day10(1, 30, 20);
+        //When
+        long farthest = Day10.solvePart1(field);
+        long enclosed = Day10.solvePart2(field);
+        //Then
+        assertTrue(farthest >= 30, "Loop should at least go around the top row and back");
+        assertTrue(enclosed > 0, "Loop should enclose tiles between the top row and the skyline");
+    }
+
+    @Test
+    void givenGeneratedPatterns_WhenSolve_ThenEveryPatternHasAReflection() {
+        //Given
+        String patterns = InputGenerator.day13(1, 100, 15, 11);
+        //When
+        long summary = Day13.solvesDay1(patterns);
+        //Then
+        assertTrue(summary >= 100, "Every pattern should contribute at least one column");
+    }
+
+    @Test
+    void givenGeneratedRaces_WhenNumbersOfWins_ThenEveryRaceCanBeWon() {
+        //Given
+        String races = InputGenerator.day6(1, 4, 99);
+        //When
+        long wins = Day6.numbersOfWins(races, Function.identity());
+        //Then
+        assertTrue(wins > 0, "Every generated race should be won at least once");
+    }
+}
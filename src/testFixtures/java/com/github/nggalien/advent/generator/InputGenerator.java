@@ -0,0 +1,513 @@
+package com.github.nggalien.advent.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generators of puzzle inputs of any size, in the format of each day.<br>
+ * A generator always produces the same input for the same seed and size,
+ * so generated inputs can be used to compare runs of the solvers.
+ * Day 12 has no generator, as it is not solved yet and has no input to take the format from.
+ * They are test fixtures, shared by the tests and the benchmarks, and not part of the solutions.
+ */
+public interface InputGenerator {
+
+    String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    String[] DIGIT_WORDS = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+    String[] COLORS = {"red", "green", "blue"};
+    String SYMBOLS = "*#+$/@%=&-";
+    String CARDS = "23456789TJQKA";
+    String[] ALMANAC_MAPS = {"seed-to-soil", "soil-to-fertilizer", "fertilizer-to-water", "water-to-light",
+            "light-to-temperature", "temperature-to-humidity", "humidity-to-location"};
+
+    static RandomGenerator random(long seed) {
+        return new SplittableRandom(seed);
+    }
+
+    /**
+     * Day 1 calibration lines, made of letters, digits and spelled digits, with at least one digit per line.
+     *
+     * @param seed  the seed of the generator
+     * @param lines the number of lines
+     * @return the calibration document
+     */
+    static String day1(long seed, int lines) {
+        RandomGenerator random = random(seed);
+        var builder = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            int tokens = random.nextInt(1, 8);
+            int digitAt = random.nextInt(tokens);
+            for (int t = 0; t < tokens; t++) {
+                int kind = t == digitAt ? 0 : random.nextInt(3);
+                switch (kind) {
+                    case 0 -> builder.append((char) ('1' + random.nextInt(9)));
+                    case 1 -> builder.append(DIGIT_WORDS[random.nextInt(DIGIT_WORDS.length)]);
+                    default -> builder.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+                }
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day 2 games, each made of one to {@code maxHands} hands of red, green and blue cubes.
+     *
+     * @param seed     the seed of the generator
+     * @param games    the number of games
+     * @param maxHands the maximum number of hands of a game
+     * @return the game records
+     */
+    static String day2(long seed, int games, int maxHands) {
+        RandomGenerator random = random(seed);
+        var builder = new StringBuilder();
+        for (int id = 1; id <= games; id++) {
+            builder.append("Game ").append(id).append(": ");
+            int hands = random.nextInt(1, maxHands + 1);
+            for (int h = 0; h < hands; h++) {
+                if (h > 0) {
+                    builder.append("; ");
+                }
+                List<String> colors = new ArrayList<>(List.of(COLORS));
+                shuffle(colors, random);
+                int picked = random.nextInt(1, COLORS.length + 1);
+                for (int c = 0; c < picked; c++) {
+                    if (c > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(random.nextInt(1, 21)).append(' ').append(colors.get(c));
+                }
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day 3 engine schematic of numbers from 1 to 999 and symbols on a background of periods.
+     *
+     * @param seed   the seed of the generator
+     * @param width  the width of the schematic
+     * @param height the height of the schematic
+     * @return the schematic
+     */
+    static String day3(long seed, int width, int height) {
+        RandomGenerator random = random(seed);
+        var builder = new StringBuilder((width + 1) * height);
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                double draw = random.nextDouble();
+                int digits = random.nextInt(1, 4);
+                if (draw < 0.15 && x + digits <= width) {
+                    builder.append(random.nextInt((int) Math.pow(10, digits - 1), (int) Math.pow(10, digits)));
+                    x += digits;
+                    if (x < width) {
+                        builder.append('.');
+                        x++;
+                    }
+                } else if (draw < 0.22) {
+                    builder.append(SYMBOLS.charAt(random.nextInt(SYMBOLS.length())));
+                    x++;
+                } else {
+                    builder.append('.');
+                    x++;
+                }
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day 4 scratchcards with distinct winning and owned numbers from 1 to 99.<br>
+     * Most cards have no match and the others up to three, so that a card wins less than one copy on average
+     * and the number of copies stays bounded however long the deck is.
+     *
+     * @param seed    the seed of the generator
+     * @param cards   the number of cards
+     * @param winning the count of winning numbers of a card
+     * @param owned   the count of owned numbers of a card
+     * @return the scratchcards
+     */
+    static String day4(long seed, int cards, int winning, int owned) {
+        RandomGenerator random = random(seed);
+        int width = String.valueOf(cards).length();
+        var builder = new StringBuilder();
+        for (int card = 1; card <= cards; card++) {
+            int maxMatches = Math.min(3, Math.min(winning, owned));
+            int matches = maxMatches == 0 || random.nextDouble() < 0.7 ? 0 : random.nextInt(1, maxMatches + 1);
+            int[] numbers = distinctNumbers(random, winning + owned - matches, 99);
+            int[] mine = new int[owned];
+            System.arraycopy(numbers, 0, mine, 0, matches);
+            System.arraycopy(numbers, winning, mine, matches, owned - matches);
+            shuffle(mine, random);
+            builder.append("Card ").append(String.format("%" + width + "d", card)).append(':');
+            appendNumbers(builder, Arrays.copyOf(numbers, winning));
+            builder.append(" |");
+            appendNumbers(builder, mine);
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day 5 almanac with {@code seeds} pairs of seeds and seven maps of non-overlapping ranges.
+     *
+     * @param seed   the seed of the generator
+     * @param seeds  the number of seed pairs, start and length
+     * @param ranges the number of ranges of each map
+     * @return the almanac
+     */
+    static String day5(long seed, int seeds, int ranges) {
+        RandomGenerator random = random(seed);
+        long space = 4_000_000_000L;
+        var builder = new StringBuilder("seeds:");
+        for (int i = 0; i < seeds; i++) {
+            long start = random.nextLong(space);
+            builder.append(' ').append(start).append(' ').append(random.nextLong(1, Math.min(space - start, 100_000_000L) + 1));
+        }
+        builder.append('\n');
+        long slot = space / ranges;
+        for (String map : ALMANAC_MAPS) {
+            builder.append('\n').append(map).append(" map:\n");
+            for (int r = 0; r < ranges; r++) {
+                long length = random.nextLong(1, slot + 1);
+                long source = r * slot + random.nextLong(slot - length + 1);
+                long destination = random.nextLong(space - length + 1);
+                builder.append(destination).append(' ').append(source).append(' ').append(length).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day 6 races, each record distance being beaten by at least one hold time.<br>
+     * Times and distances are kept small, as the second part reads all the races as a single one.
+     *
+     * @param seed    the seed of the generator
+     * @param races   the number of races
+     * @param maxTime the longest race time, at least 2
+     * @return the sheet of times and distances
+     */
+    static String day6(long seed, int races, int maxTime) {
+        if (maxTime < 2) {
+            throw new IllegalArgumentException("A race needs at least 2 ms to be won");
+        }
+        RandomGenerator random = random(seed);
+        var times = new StringBuilder("Time:    ");
+        var distances = new StringBuilder("Distance:");
+        for (int i = 0; i < races; i++) {
+            long time = random.nextLong(2, maxTime + 1);
+            long best = (time / 2) * (time - time / 2);
+            String distance = Long.toString(random.nextLong(best));
+            String duration = Long.toString(time);
+            int width = Math.max(distance.length(), duration.length()) + 3;
+            times.append(" ".repeat(width - duration.length())).append(duration);
+            distances.append(" ".repeat(width - distance.length())).append(distance);
+        }
+        return times.append('\n').append(distances).append('\n').toString();
+    }
+
+    /**
+     * Day 7 hands of five cards with their bid.
+     *
+     * @param seed  the seed of the generator
+     * @param hands the number of hands
+     * @return the list of hands
+     */
+    static String day7(long seed, int hands) {
+        RandomGenerator random = random(seed);
+        var builder = new StringBuilder();
+        for (int i = 0; i < hands; i++) {
+            for (int c = 0; c < 5; c++) {
+                builder.append(CARDS.charAt(random.nextInt(CARDS.length())));
+            }
+            builder.append(' ').append(random.nextInt(1, 1000)).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day 8 network of {@code chains} ghost paths, the first one going from {@code AAA} to {@code ZZZ}.<br>
+     * Each node of a path leads to the next one, either directly or through a detour node,
+     * so every path reaches its end whatever the instructions are.
+     *
+     * @param seed         the seed of the generator
+     * @param instructions the number of left/right instructions
+     * @param chains       the number of paths, starting at a node ending with A and ending at a node ending with Z
+     * @param length       the number of nodes of each path, at least 2
+     * @return the documents with the instructions and the network
+     */
+    static String day8(long seed, int instructions, int chains, int length) {
+        if (length < 2) {
+            throw new IllegalArgumentException("A path needs at least a start and an end");
+        }
+        RandomGenerator random = random(seed);
+        var builder = new StringBuilder();
+        for (int i = 0; i < instructions; i++) {
+            builder.append(random.nextBoolean() ? 'L' : 'R');
+        }
+        builder.append("\n\n");
+        int nameLength = nameLength(2L * chains * length + 2);
+        int[] next = {0};
+        List<String> nodes = new ArrayList<>();
+        for (int chain = 0; chain < chains; chain++) {
+            List<String> path = new ArrayList<>();
+            path.add(chain == 0 ? "AAA" : freshName(next, nameLength, 'A'));
+            for (int i = 1; i < length - 1; i++) {
+                path.add(freshName(next, nameLength, 'X'));
+            }
+            path.add(chain == 0 ? "ZZZ" : freshName(next, nameLength, 'Z'));
+            for (int i = 0; i < path.size() - 1; i++) {
+                String following = path.get(i + 1);
+                if (random.nextBoolean()) {
+                    String detour = freshName(next, nameLength, 'Y');
+                    nodes.add(node(detour, following, following));
+                    nodes.add(random.nextBoolean() ? node(path.get(i), detour, following) : node(path.get(i), following, detour));
+                } else {
+                    nodes.add(node(path.get(i), following, following));
+                }
+            }
+            nodes.add(node(path.getLast(), path.getLast(), path.getLast()));
+        }
+        shuffle(nodes, random);
+        nodes.forEach(node -> builder.append(node).append('\n'));
+        return builder.toString();
+    }
+
+    /**
+     * Day 9 report of sequences of {@code values} values, each one a polynomial of degree up to 5.
+     *
+     * @param seed   the seed of the generator
+     * @param lines  the number of sequences
+     * @param values the number of values of each sequence
+     * @return the report
+     */
+    static String day9(long seed, int lines, int values) {
+        RandomGenerator random = random(seed);
+        var builder = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            long[] coefficients = random.longs(random.nextInt(1, 7), -9, 10).toArray();
+            builder.append(IntStream.range(0, values)
+                    .mapToObj(x -> String.valueOf(newtonPolynomial(coefficients, x)))
+                    .collect(Collectors.joining(" ")));
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day 10 field with a single loop starting at {@code S}, surrounded by random pipes.<br>
+     * The loop follows the top row, then a random skyline along the bottom, enclosing tiles between them.
+     *
+     * @param seed   the seed of the generator
+     * @param width  the width of the field, at least 5
+     * @param height the height of the field, at least 6
+     * @return the field
+     */
+    static String day10(long seed, int width, int height) {
+        if (width < 5 || height < 6) {
+            throw new IllegalArgumentException("Field must be at least 5x6");
+        }
+        RandomGenerator random = random(seed);
+        char[][] field = new char[height][width];
+        String junk = "|-LJ7F....";
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean border = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+                field[y][x] = border ? '.' : junk.charAt(random.nextInt(junk.length()));
+            }
+        }
+        int right = width - 2;
+        int[] bottom = new int[width];
+        for (int x = 2; x <= right; x++) {
+            bottom[x] = random.nextInt(3, height - 1);
+        }
+        List<int[]> loop = new ArrayList<>();
+        for (int x = 1; x <= right; x++) {
+            loop.add(new int[]{x, 1});
+        }
+        for (int y = 2; y <= bottom[right]; y++) {
+            loop.add(new int[]{right, y});
+        }
+        for (int x = right - 1; x >= 2; x--) {
+            int from = bottom[x + 1];
+            int step = Integer.signum(bottom[x] - from);
+            for (int y = from; ; y += step) {
+                loop.add(new int[]{x, y});
+                if (y == bottom[x]) {
+                    break;
+                }
+            }
+        }
+        for (int y = bottom[2]; y >= 2; y--) {
+            loop.add(new int[]{1, y});
+        }
+        for (int i = 1; i < loop.size(); i++) {
+            int[] current = loop.get(i);
+            field[current[1]][current[0]] = pipe(loop.get(i - 1), current, loop.get((i + 1) % loop.size()));
+        }
+        field[1][1] = 'S';
+        return Stream.of(field).map(String::new).collect(Collectors.joining("\n", "", "\n"));
+    }
+
+    /**
+     * Day 11 image of galaxies, each tile being a galaxy with the given probability.
+     *
+     * @param seed    the seed of the generator
+     * @param width   the width of the image
+     * @param height  the height of the image
+     * @param density the probability of a tile to be a galaxy
+     * @return the image
+     */
+    static String day11(long seed, int width, int height, double density) {
+        RandomGenerator random = random(seed);
+        var builder = new StringBuilder((width + 1) * height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                builder.append(random.nextDouble() < density ? '#' : '.');
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Day 13 patterns of ash and rocks, each one mirrored along a random vertical or horizontal line.
+     *
+     * @param seed     the seed of the generator
+     * @param patterns the number of patterns
+     * @param width    the width of each pattern
+     * @param height   the height of each pattern
+     * @return the patterns separated by blank lines
+     */
+    static String day13(long seed, int patterns, int width, int height) {
+        RandomGenerator random = random(seed);
+        return IntStream.range(0, patterns)
+                .mapToObj(_ -> mirroredPattern(random, width, height))
+                .collect(Collectors.joining("\n\n", "", "\n"));
+    }
+
+    private static String mirroredPattern(RandomGenerator random, int width, int height) {
+        boolean vertical = random.nextBoolean();
+        int size = vertical ? width : height;
+        int axis = random.nextInt(1, size);
+        char[][] pattern = new char[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int index = vertical ? x : y;
+                int mirror = 2 * axis - 1 - index;
+                boolean reflected = index >= axis && mirror >= 0;
+                pattern[y][x] = reflected
+                        ? (vertical ? pattern[y][mirror] : pattern[mirror][x])
+                        : (random.nextBoolean() ? '#' : '.');
+            }
+        }
+        return Stream.of(pattern).map(String::new).collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Returns the pipe connecting the previous and the next tile of a loop.
+     */
+    private static char pipe(int[] previous, int[] current, int[] next) {
+        boolean up = previous[1] < current[1] || next[1] < current[1];
+        boolean down = previous[1] > current[1] || next[1] > current[1];
+        boolean left = previous[0] < current[0] || next[0] < current[0];
+        boolean rightSide = previous[0] > current[0] || next[0] > current[0];
+        if (up && down) {
+            return '|';
+        }
+        if (left && rightSide) {
+            return '-';
+        }
+        if (up) {
+            return left ? 'J' : 'L';
+        }
+        return left ? '7' : 'F';
+    }
+
+    /**
+     * Evaluates {@code sum(c[k] * binomial(x, k))}, an integer polynomial whose k-th differences are constant.
+     */
+    private static long newtonPolynomial(long[] coefficients, int x) {
+        long result = 0;
+        long binomial = 1;
+        for (int k = 0; k < coefficients.length; k++) {
+            result += coefficients[k] * binomial;
+            binomial = binomial * (x - k) / (k + 1);
+        }
+        return result;
+    }
+
+    private static int[] distinctNumbers(RandomGenerator random, int count, int max) {
+        List<Integer> numbers = new ArrayList<>(IntStream.rangeClosed(1, max).boxed().toList());
+        shuffle(numbers, random);
+        return numbers.stream().limit(count).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void appendNumbers(StringBuilder builder, int[] numbers) {
+        for (int number : numbers) {
+            builder.append(number < 10 ? "  " : " ").append(number);
+        }
+    }
+
+    private static String node(String name, String left, String right) {
+        return STR."\{name} = (\{left}, \{right})";
+    }
+
+    /**
+     * Returns the length of the node names needed to name the given count of nodes, at least 3.
+     */
+    private static int nameLength(long names) {
+        int prefix = 1;
+        long capacity = 26;
+        while (capacity < names) {
+            capacity *= 26;
+            prefix++;
+        }
+        return Math.max(3, prefix + 1);
+    }
+
+    /**
+     * Names the next node with uppercase letters and the given last letter, never reusing {@code AAA} and {@code ZZZ}.
+     */
+    private static String freshName(int[] next, int length, char last) {
+        String name;
+        do {
+            char[] letters = new char[length];
+            letters[length - 1] = last;
+            int remaining = next[0]++;
+            for (int i = length - 2; i >= 0; i--) {
+                letters[i] = (char) ('A' + remaining % 26);
+                remaining /= 26;
+            }
+            name = new String(letters);
+        } while (name.equals("AAA") || name.equals("ZZZ"));
+        return name;
+    }
+
+    private static void shuffle(int[] array, RandomGenerator random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+
+    private static <T> void shuffle(List<T> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T swap = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, swap);
+        }
+    }
+}